@@ -18,6 +18,11 @@ class ConsoleUI
         if (project == null)
         {
             System.out.println("The corresponding graph is not a DAG");
+            List<String> cycle = controller.findCycle()
+                                           .stream()
+                                           .map(String::valueOf)
+                                           .collect(Collectors.toList());
+            System.out.printf("A cycle of dependencies is: %s%n", String.join(" -> ", cycle));
             return;
         }
         List<Activity> activities = project.activityList;
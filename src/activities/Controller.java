@@ -2,22 +2,24 @@ package activities;
 
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 import graphs.DirectedGraph;
+import graphs.algorithms.TopologicalSort;
+import graphs.exceptions.CannotHaveCyclesException;
 
 class Controller
 {
 
     private DirectedGraph directedGraph;
     private Map<Integer, Activity> activities;
+    /**
+     * The times of the activities, kept up to date by the changes; built by the first project
+     */
+    private Schedule schedule;
 
     public Controller(String activitiesFileName)
     {
@@ -34,99 +36,60 @@ class Controller
 
     public DTOProject createProject()
     {
-        List<Integer> order = topologicalSort();
-        if (order == null)
+        if (schedule == null)
+            schedule = Schedule.of(directedGraph, activities);
+        if (schedule == null)
             return null;
-        List<Activity> activityList = order.stream()
-                                           .map(integer -> activities.get(integer))
-                                           .collect(Collectors.toList());
-        generateTimes(activityList);
+        List<Activity> activityList = schedule.getActivities();
         activityList.remove(0);
-        Activity last = activityList.remove(activityList.size() - 1);
-        return new DTOProject(activityList, last.minEndTime);
+        activityList.remove(activityList.size() - 1);
+        return new DTOProject(activityList, schedule.getProjectEnd());
     }
 
-    private void generateTimes(List<Activity> activityList)
+    /**
+     * Finds a cycle of the dependencies, which keeps the project from having a schedule
+     * @return The activities of the cycle, where every activity is a dependency of the next one
+     * and the last one is a dependency of the first one, or null if the dependencies have no cycles
+     */
+    public List<Integer> findCycle()
     {
-        for (int i = 1; i < activityList.size(); i++)
-        {
-            Activity activity = activityList.get(i);
-            activity.minStartTime = 0;
-            for (int dependency : directedGraph.parseInboundEdges(activity.vertex))
-            {
-                int dependencyMinEndTime = activities.get(dependency).minEndTime;
-                if (dependencyMinEndTime > activity.minStartTime)
-                {
-                    activity.minStartTime = dependencyMinEndTime;
-                }
-            }
-            activity.minEndTime = activity.minStartTime + activity.duration;
-        }
-
-        Activity last = activityList.get(activityList.size() - 1);
-        last.maxEndTime = last.minEndTime;
-        last.maxStartTime = last.minStartTime;
+        return TopologicalSort.of(directedGraph).getCycle();
+    }
 
-        for (int i = activityList.size() - 2; i >= 0; i--)
-        {
-            Activity activity = activityList.get(i);
-            activity.maxEndTime = last.maxStartTime;
-            for (int dependency : directedGraph.parseOutboundEdges(activity.vertex))
-            {
-                int dependencyMaxStartTime = activities.get(dependency).maxStartTime;
-                if (dependencyMaxStartTime < activity.maxEndTime)
-                {
-                    activity.maxEndTime = dependencyMaxStartTime;
-                }
-            }
-            activity.maxStartTime = activity.maxEndTime - activity.duration;
+    /**
+     * Changes the duration of an activity, updating only the times of the activities affected by it
+     * @throws CannotHaveCyclesException if the dependencies have a cycle
+     */
+    public void changeDuration(int vertex, int duration)
+    {
+        requireSchedule().changeDuration(vertex, duration);
+    }
 
-            if (activity.maxStartTime == activity.minStartTime)
-                activity.critical = true;
-        }
+    /**
+     * Makes the activity depend on another one, updating only the times of the activities affected by it
+     * @throws CannotHaveCyclesException if the dependencies have or would have a cycle
+     */
+    public void addDependency(int dependency, int vertex)
+    {
+        requireSchedule().addDependency(dependency, vertex);
     }
 
-    private List<Integer> topologicalSort()
+    /**
+     * Removes the dependency of the activity on another one, updating only the times of the activities affected
+     * @throws CannotHaveCyclesException if the dependencies have a cycle
+     */
+    public void removeDependency(int dependency, int vertex)
     {
-        int vertexNumber = directedGraph.getNumberOfVertices();
-        List<Integer> sorted = new ArrayList<>(vertexNumber);
-        Set<Integer> fullyProcessed = new HashSet<>(vertexNumber);
-        Set<Integer> inProcess = new HashSet<>(vertexNumber);
-        for (Integer vertex : directedGraph.parseVertices())
-        {
-            if (!fullyProcessed.contains(vertex))
-            {
-                boolean ok = topologicalSortDFS(vertex, sorted, fullyProcessed, inProcess);
-                if (!ok)
-                    return null;
-            }
-        }
-        return sorted;
+        requireSchedule().removeDependency(dependency, vertex);
     }
 
-    private boolean topologicalSortDFS(
-            Integer sourceVertex,
-            List<Integer> sorted,
-            Set<Integer> fullyProcessed,
-            Set<Integer> inProcess
-    )
+    private Schedule requireSchedule()
     {
-        inProcess.add(sourceVertex);
-        for (Integer dependency : directedGraph.parseInboundEdges(sourceVertex))
-        {
-            if (inProcess.contains(dependency))
-                return false;
-            else if (!fullyProcessed.contains(dependency))
-            {
-                boolean ok = topologicalSortDFS(dependency, sorted, fullyProcessed, inProcess);
-                if (!ok)
-                    return false;
-            }
-        }
-        inProcess.remove(sourceVertex);
-        sorted.add(sourceVertex);
-        fullyProcessed.add(sourceVertex);
-        return true;
+        if (schedule == null)
+            schedule = Schedule.of(directedGraph, activities);
+        if (schedule == null)
+            throw new CannotHaveCyclesException();
+        return schedule;
     }
 
     private void readDAG(String activitiesFileName) throws FileNotFoundException
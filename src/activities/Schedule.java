@@ -0,0 +1,405 @@
+package activities;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+import graphs.DirectedGraph;
+import graphs.algorithms.CriticalPath;
+import graphs.collections.IndexedLongMinHeap;
+import graphs.collections.IntArrayList;
+import graphs.collections.IntIntHashMap;
+import graphs.exceptions.CannotHaveCyclesException;
+import graphs.exceptions.CannotHaveLoopsException;
+import graphs.exceptions.EdgeAlreadyExistsException;
+import graphs.exceptions.EdgeDoesNotExistException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+/**
+ * The times of the activities of a project, kept up to date while durations and dependencies change.
+ * Every activity keeps its earliest start and its tail, the length of the longest chain of activities from its
+ * start to the end of the project; its latest start is the end of the project minus its tail, so a change of the
+ * end of the project does not touch the activities whose chains did not change.
+ * The activities have ranks in a topological order: a change is pushed to the dependent activities in increasing
+ * rank and to the dependencies in decreasing rank, and stops at the activities whose times stay the same.
+ * A new dependency which goes against the order only reorders the activities ranked between its two ends
+ */
+class Schedule
+{
+    private static final int START = -1;
+    private static final int END = -2;
+    private static final int MISSING = -1;
+
+    private final DirectedGraph directedGraph;
+    private final Map<Integer, Activity> activities;
+    /**
+     * The slot of every vertex; the arrays below are indexed by slot
+     */
+    private final IntIntHashMap slots;
+    private final int[] vertices;
+    private final int[] durations;
+    private final int[] earliestStarts;
+    private final int[] tails;
+    private final int[] ranks;
+    /**
+     * The slot of every rank
+     */
+    private final int[] rankSlots;
+    /**
+     * The slots waiting to be updated, by rank
+     */
+    private final IndexedLongMinHeap queue;
+
+    private Schedule(DirectedGraph directedGraph, Map<Integer, Activity> activities, CriticalPath criticalPath)
+    {
+        this.directedGraph = directedGraph;
+        this.activities = activities;
+        List<Integer> order = criticalPath.getOrder();
+        int vertexNumber = order.size();
+        slots = new IntIntHashMap(vertexNumber);
+        vertices = new int[vertexNumber];
+        durations = new int[vertexNumber];
+        earliestStarts = new int[vertexNumber];
+        tails = new int[vertexNumber];
+        ranks = new int[vertexNumber];
+        rankSlots = new int[vertexNumber];
+        queue = new IndexedLongMinHeap(vertexNumber);
+        for (int slot = 0; slot < vertexNumber; slot++)
+        {
+            int vertex = order.get(slot);
+            slots.put(vertex, slot);
+            vertices[slot] = vertex;
+            durations[slot] = activities.get(vertex).duration;
+            earliestStarts[slot] = criticalPath.getEarliestStart(vertex);
+            tails[slot] = criticalPath.getCompletionTime() - criticalPath.getLatestStart(vertex);
+            ranks[slot] = slot;
+            rankSlots[slot] = slot;
+        }
+    }
+
+    /**
+     * Computes the times of the activities of a project
+     * @param directedGraph The dependencies of the activities, with a start activity -1 before all of them and an
+     * end activity -2 after all of them; the schedule changes it together with the dependencies
+     * @param activities The activity of every vertex
+     * @return The schedule, or null if the dependencies have a cycle
+     */
+    static Schedule of(DirectedGraph directedGraph, Map<Integer, Activity> activities)
+    {
+        CriticalPath criticalPath = CriticalPath.of(directedGraph, vertex -> activities.get(vertex).duration);
+        if (criticalPath == null)
+        {
+            return null;
+        }
+        return new Schedule(directedGraph, activities, criticalPath);
+    }
+
+    /**
+     * Gets the time when all the activities can be finished at the earliest
+     */
+    int getProjectEnd()
+    {
+        return earliestStarts[slotOf(END)];
+    }
+
+    /**
+     * Checks if the activity cannot start later without delaying the project
+     * @throws VertexDoesNotExistException if there is no such activity
+     */
+    boolean isCritical(int vertex)
+    {
+        int slot = slotOf(vertex);
+        return earliestStarts[slot] + tails[slot] == getProjectEnd();
+    }
+
+    /**
+     * Gets the activity with its times brought up to date
+     * @throws VertexDoesNotExistException if there is no such activity
+     */
+    Activity getActivity(int vertex)
+    {
+        return refresh(slotOf(vertex));
+    }
+
+    /**
+     * Gets all the activities with their times brought up to date, in topological order;
+     * the start activity is the first one and the end activity is the last one
+     */
+    List<Activity> getActivities()
+    {
+        List<Activity> activityList = new ArrayList<>(vertices.length);
+        for (int slot : rankSlots)
+        {
+            activityList.add(refresh(slot));
+        }
+        return activityList;
+    }
+
+    /**
+     * Changes the duration of an activity, updating the times of the activities it reaches
+     * @throws VertexDoesNotExistException if there is no such activity
+     */
+    void changeDuration(int vertex, int duration)
+    {
+        int slot = slotOf(vertex);
+        activities.get(vertex).duration = duration;
+        durations[slot] = duration;
+        for (PrimitiveIterator.OfInt nexts = directedGraph.iterateOutboundEdges(vertex); nexts.hasNext(); )
+        {
+            pushForward(slotOf(nexts.nextInt()));
+        }
+        propagateForward();
+        pushBackward(slot);
+        propagateBackward();
+    }
+
+    /**
+     * Makes the activity depend on another one
+     * @throws VertexDoesNotExistException if one of the activities does not exist
+     * @throws CannotHaveLoopsException if the two activities are the same
+     * @throws EdgeAlreadyExistsException if the activity already depends on the other one
+     * @throws CannotHaveCyclesException if the other activity already depends on the activity, directly or not
+     */
+    void addDependency(int dependency, int vertex)
+    {
+        int dependencySlot = slotOf(dependency);
+        int slot = slotOf(vertex);
+        if (dependency == vertex)
+        {
+            throw new CannotHaveLoopsException();
+        }
+        if (directedGraph.existsEdge(dependency, vertex))
+        {
+            throw new EdgeAlreadyExistsException();
+        }
+        if (ranks[dependencySlot] > ranks[slot])
+        {
+            reorder(dependencySlot, slot);
+        }
+        directedGraph.addEdge(dependency, vertex, 0);
+        // the start and end activities are only linked to the activities without dependencies or dependents
+        boolean startUnlinked = dependency != START && directedGraph.existsEdge(START, vertex);
+        if (startUnlinked)
+        {
+            directedGraph.removeEdge(START, vertex);
+        }
+        boolean endUnlinked = vertex != END && directedGraph.existsEdge(dependency, END);
+        if (endUnlinked)
+        {
+            directedGraph.removeEdge(dependency, END);
+        }
+        update(dependencySlot, slot, startUnlinked, endUnlinked);
+    }
+
+    /**
+     * Removes the dependency of the activity on another one
+     * @throws VertexDoesNotExistException if one of the activities does not exist
+     * @throws EdgeDoesNotExistException if the activity does not depend on the other one
+     */
+    void removeDependency(int dependency, int vertex)
+    {
+        int dependencySlot = slotOf(dependency);
+        int slot = slotOf(vertex);
+        directedGraph.removeEdge(dependency, vertex);
+        boolean startLinked = directedGraph.inDegree(vertex) == 0;
+        if (startLinked)
+        {
+            directedGraph.addEdge(START, vertex, 0);
+        }
+        boolean endLinked = directedGraph.outDegree(dependency) == 0;
+        if (endLinked)
+        {
+            directedGraph.addEdge(dependency, END, 0);
+        }
+        update(dependencySlot, slot, startLinked, endLinked);
+    }
+
+    /**
+     * Updates the times after the edges between the two activities, and possibly the edges from the start
+     * activity to the dependent one and from the dependency to the end activity, changed
+     */
+    private void update(int dependencySlot, int slot, boolean startChanged, boolean endChanged)
+    {
+        pushForward(slot);
+        if (endChanged)
+        {
+            pushForward(slotOf(END));
+        }
+        propagateForward();
+        pushBackward(dependencySlot);
+        if (startChanged)
+        {
+            pushBackward(slotOf(START));
+        }
+        propagateBackward();
+    }
+
+    private void pushForward(int slot)
+    {
+        queue.push(slot, ranks[slot]);
+    }
+
+    private void pushBackward(int slot)
+    {
+        queue.push(slot, -ranks[slot]);
+    }
+
+    /**
+     * Recomputes the earliest starts of the queued activities from their dependencies, in increasing rank,
+     * queueing the dependent activities of every activity whose earliest start changed
+     */
+    private void propagateForward()
+    {
+        while (!queue.isEmpty())
+        {
+            int slot = queue.poll();
+            int earliestStart = 0;
+            for (PrimitiveIterator.OfInt dependencies = directedGraph.iterateInboundEdges(vertices[slot]);
+                 dependencies.hasNext(); )
+            {
+                int dependencySlot = slotOf(dependencies.nextInt());
+                earliestStart = Math.max(earliestStart, earliestStarts[dependencySlot] + durations[dependencySlot]);
+            }
+            if (earliestStart != earliestStarts[slot])
+            {
+                earliestStarts[slot] = earliestStart;
+                for (PrimitiveIterator.OfInt nexts = directedGraph.iterateOutboundEdges(vertices[slot]);
+                     nexts.hasNext(); )
+                {
+                    pushForward(slotOf(nexts.nextInt()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes the tails of the queued activities from their dependent activities, in decreasing rank,
+     * queueing the dependencies of every activity whose tail changed
+     */
+    private void propagateBackward()
+    {
+        while (!queue.isEmpty())
+        {
+            int slot = queue.poll();
+            int tail = 0;
+            for (PrimitiveIterator.OfInt nexts = directedGraph.iterateOutboundEdges(vertices[slot]); nexts.hasNext(); )
+            {
+                tail = Math.max(tail, tails[slotOf(nexts.nextInt())]);
+            }
+            tail += durations[slot];
+            if (tail != tails[slot])
+            {
+                tails[slot] = tail;
+                for (PrimitiveIterator.OfInt dependencies = directedGraph.iterateInboundEdges(vertices[slot]);
+                     dependencies.hasNext(); )
+                {
+                    pushBackward(slotOf(dependencies.nextInt()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Restores the topological order before a dependency from a higher ranked activity to a lower ranked one
+     * is added: the activities ranked between the two ends which reach the dependency move before the ones
+     * reachable from the dependent activity, keeping the ranks they had between them
+     * @throws CannotHaveCyclesException if the dependency is reachable from the dependent activity
+     */
+    private void reorder(int dependencySlot, int slot)
+    {
+        int lowest = ranks[slot];
+        int highest = ranks[dependencySlot];
+        IntIntHashMap visited = new IntIntHashMap();
+        IntArrayList reachable = collect(slot, true, lowest, highest, visited);
+        if (visited.containsKey(dependencySlot))
+        {
+            throw new CannotHaveCyclesException();
+        }
+        IntArrayList reaching = collect(dependencySlot, false, lowest, highest, visited);
+
+        long[] moved = new long[reaching.size() + reachable.size()];
+        int[] freedRanks = new int[moved.length];
+        int count = 0;
+        // the ranks are sorted together with their slots, packed in the high and low halves
+        for (IntArrayList part : Arrays.asList(reaching, reachable))
+        {
+            long[] sorted = new long[part.size()];
+            for (int i = 0; i < part.size(); i++)
+            {
+                sorted[i] = ((long) ranks[part.get(i)] << 32) | part.get(i);
+            }
+            Arrays.sort(sorted);
+            for (long packed : sorted)
+            {
+                freedRanks[count] = (int) (packed >>> 32);
+                moved[count++] = packed;
+            }
+        }
+        Arrays.sort(freedRanks);
+        for (int i = 0; i < moved.length; i++)
+        {
+            int movedSlot = (int) moved[i];
+            ranks[movedSlot] = freedRanks[i];
+            rankSlots[freedRanks[i]] = movedSlot;
+        }
+    }
+
+    /**
+     * Collects the activities ranked between the two bounds which are reachable from the activity,
+     * following the dependent activities or the dependencies
+     */
+    private IntArrayList collect(int slot, boolean forward, int lowest, int highest, IntIntHashMap visited)
+    {
+        IntArrayList found = new IntArrayList();
+        IntArrayList stack = new IntArrayList();
+        visited.put(slot, 0);
+        found.add(slot);
+        stack.add(slot);
+        while (!stack.isEmpty())
+        {
+            int vertex = vertices[stack.removeLast()];
+            PrimitiveIterator.OfInt neighbours = forward
+                    ? directedGraph.iterateOutboundEdges(vertex)
+                    : directedGraph.iterateInboundEdges(vertex);
+            while (neighbours.hasNext())
+            {
+                int neighbourSlot = slotOf(neighbours.nextInt());
+                int rank = ranks[neighbourSlot];
+                if (rank >= lowest && rank <= highest && !visited.containsKey(neighbourSlot))
+                {
+                    visited.put(neighbourSlot, 0);
+                    found.add(neighbourSlot);
+                    stack.add(neighbourSlot);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes the current times of the activity of the slot into it
+     */
+    private Activity refresh(int slot)
+    {
+        Activity activity = activities.get(vertices[slot]);
+        int projectEnd = getProjectEnd();
+        activity.minStartTime = earliestStarts[slot];
+        activity.minEndTime = earliestStarts[slot] + durations[slot];
+        activity.maxStartTime = projectEnd - tails[slot];
+        activity.maxEndTime = projectEnd - tails[slot] + durations[slot];
+        activity.critical = activity.minStartTime == activity.maxStartTime;
+        return activity;
+    }
+
+    private int slotOf(int vertex)
+    {
+        int slot = slots.get(vertex, MISSING);
+        if (slot == MISSING)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return slot;
+    }
+}
@@ -22,7 +22,7 @@ class ConsoleUI
 
     private void createOptionList()
     {
-        options = new HashMap<>(18);
+        options = new HashMap<>(19);
         options.put(1, new Option("Number of vertices", this::numberOfVertices));
         options.put(2, new Option("List vertices", this::listVertices));
         options.put(3, new Option("Check if edge exists", this::edgeExists));
@@ -41,9 +41,15 @@ class ConsoleUI
         options.put(16, new Option("List isolated vertices", this::isolatedVertices));
         options.put(17, new Option("Write graph to file", this::writeGraphToFile));
         options.put(18, new Option("Find lowest cost walk", this::lowestCostWalk));
+        options.put(19, new Option("Freeze graph (read-only)", this::freezeGraph));
 
     }
 
+    private void freezeGraph()
+    {
+        print(controller.freezeGraph());
+    }
+
     private void lowestCostWalk()
     {
         int start = getInt("Choose starting vertex: ");
@@ -97,6 +103,9 @@ class ConsoleUI
             } catch (VertexDoesNotExistException e)
             {
                 System.out.println("The specified vertex does not exist!\n");
+            } catch (UnsupportedOperationException e)
+            {
+                System.out.println("The graph is read-only!\n");
             } catch (InputMismatchException e)
             {
                 System.out.println("Please provide an integer!\n");
@@ -1,7 +1,9 @@
 package directedGraph;
 
 import graphs.DirectedGraph;
+import graphs.DirectedGraphView;
 import graphs.VertexPair;
+import graphs.algorithms.ShortestPathCache;
 import graphs.algorithms.Traversal;
 import graphs.utils.FileUtils;
 import graphs.utils.GraphUtils;
@@ -13,11 +15,23 @@ import java.util.StringJoiner;
 class Controller
 {
 
-    private DirectedGraph directedGraph;
+    private static final int SHORTEST_PATH_CACHE_SIZE = 16;
 
-    public Controller(DirectedGraph directedGraph)
+    private DirectedGraphView directedGraph;
+    /**
+     * The lowest cost walks from the recent start vertices, dropped when the graph changes
+     */
+    private ShortestPathCache shortestPathCache;
+
+    public Controller(DirectedGraphView directedGraph)
+    {
+        setGraph(directedGraph);
+    }
+
+    private void setGraph(DirectedGraphView directedGraph)
     {
         this.directedGraph = directedGraph;
+        this.shortestPathCache = new ShortestPathCache(directedGraph, SHORTEST_PATH_CACHE_SIZE);
     }
 
     public void removeVertex(int vertex)
@@ -96,7 +110,17 @@ class Controller
 
     public void generateRandomGraph(int vertexNumber, int edgeNumber)
     {
-        this.directedGraph = GraphUtils.createRandomDirectedGraph(vertexNumber, edgeNumber);
+        setGraph(GraphUtils.createRandomDirectedGraph(vertexNumber, edgeNumber));
+    }
+
+    public String freezeGraph()
+    {
+        if (!(directedGraph instanceof DirectedGraph))
+        {
+            return "The graph is already frozen\n";
+        }
+        setGraph(((DirectedGraph) directedGraph).freeze());
+        return "The graph was frozen and is now read-only\n";
     }
 
     public String getEdges()
@@ -137,7 +161,7 @@ class Controller
 
     public String lowestCostWalk(int start, int target)
     {
-        Traversal.DTOCostWalk result = Traversal.lowestCostWalk(directedGraph, start, target);
+        Traversal.DTOCostWalk result = shortestPathCache.lowestCostWalk(start, target);
         if (result == null)
         {
             return "The graph contains negative cycles";
@@ -0,0 +1,478 @@
+package graphs;
+
+import graphs.exceptions.EdgeDoesNotExistException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Base of the read-only directed graphs stored in compressed sparse row form.
+ * The vertices are mapped to the indices 0..n-1 in increasing order and the edges of every vertex
+ * are kept in contiguous ranges, sorted by the index of the neighbour.
+ * Subclasses only decide where the rows are stored
+ */
+public abstract class AbstractCompressedDirectedGraph implements DirectedGraphView
+{
+    /**
+     * Gets a compressed form of the specified graph, compressing it only if it is not compressed already
+     * @param graph The graph to be compressed
+     * @return The compressed graph
+     */
+    public static AbstractCompressedDirectedGraph compress(DirectedGraphView graph)
+    {
+        if (graph instanceof AbstractCompressedDirectedGraph)
+        {
+            return (AbstractCompressedDirectedGraph) graph;
+        }
+        if (graph instanceof DirectedGraph)
+        {
+            return ((DirectedGraph) graph).freeze();
+        }
+        return CompressedDirectedGraph.of(graph);
+    }
+
+    /**
+     * Gets the vertex with the specified index
+     * @param index The index of the vertex
+     * @return The vertex
+     */
+    public abstract int vertexAt(int index);
+
+    /**
+     * Gets the position of the first outbound edge of the vertex with the specified index
+     */
+    public abstract int outEdgesStart(int index);
+
+    /**
+     * Gets the position after the last outbound edge of the vertex with the specified index
+     */
+    public abstract int outEdgesEnd(int index);
+
+    /**
+     * Gets the index of the vertex where the outbound edge at the specified position ends
+     */
+    public abstract int outTarget(int edge);
+
+    /**
+     * Gets the cost of the outbound edge at the specified position
+     */
+    public abstract int outCost(int edge);
+
+    /**
+     * Gets the position of the first inbound edge of the vertex with the specified index
+     */
+    public abstract int inEdgesStart(int index);
+
+    /**
+     * Gets the position after the last inbound edge of the vertex with the specified index
+     */
+    public abstract int inEdgesEnd(int index);
+
+    /**
+     * Gets the index of the vertex where the inbound edge at the specified position starts
+     */
+    public abstract int inSource(int edge);
+
+    /**
+     * Gets the cost of the inbound edge at the specified position
+     */
+    public abstract int inCost(int edge);
+
+    /**
+     * Gets the index of the specified vertex
+     * @param vertex The vertex to be searched
+     * @return The index of the vertex, or -1 if the vertex is not in the graph
+     */
+    public int indexOf(int vertex)
+    {
+        int low = 0;
+        int high = getNumberOfVertices() - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int middleVertex = vertexAt(middle);
+            if (middleVertex < vertex)
+            {
+                low = middle + 1;
+            }
+            else if (middleVertex > vertex)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the position of the specified edge in the outbound edge rows
+     * @param index1 The index of the vertex from where the edge starts
+     * @param index2 The index of the vertex where the edge ends
+     * @return The position of the edge, or -1 if the edge does not exist
+     */
+    public int findEdge(int index1, int index2)
+    {
+        int low = outEdgesStart(index1);
+        int high = outEdgesEnd(index1) - 1;
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int target = outTarget(middle);
+            if (target < index2)
+            {
+                low = middle + 1;
+            }
+            else if (target > index2)
+            {
+                high = middle - 1;
+            }
+            else
+            {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Computes the in degree of the specified vertex
+     * @param vertex The vertex for which to calculate the in degree
+     * @return The computed in degree
+     */
+    @Override
+    public int inDegree(int vertex)
+    {
+        int index = checkedIndexOf(vertex);
+        return inEdgesEnd(index) - inEdgesStart(index);
+    }
+
+    /**
+     * Computes the out degree of the specified vertex
+     * @param vertex The vertex for which to calculate the out degree
+     * @return The computed out degree
+     */
+    @Override
+    public int outDegree(int vertex)
+    {
+        int index = checkedIndexOf(vertex);
+        return outEdgesEnd(index) - outEdgesStart(index);
+    }
+
+    /**
+     * Returns an iterable with the inbound edges of the specified vertex
+     * @param vertex The vertex to be searched
+     * @return The iterable of edges
+     */
+    @Override
+    public Iterable<Integer> parseInboundEdges(int vertex)
+    {
+        int index = checkedIndexOf(vertex);
+        return () -> inboundIterator(index);
+    }
+
+    /**
+     * Returns an iterable with the outbound edges of the specified vertex
+     * @param vertex The vertex to be searched
+     * @return The iterable of edges
+     */
+    @Override
+    public Iterable<Integer> parseOutboundEdges(int vertex)
+    {
+        int index = checkedIndexOf(vertex);
+        return () -> outboundIterator(index);
+    }
+
+    /**
+     * Iterates over the inbound edges of the specified vertex without boxing the neighbours
+     * @param vertex The vertex to be searched
+     * @return The iterator of the vertices where the edges start
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterateInboundEdges(int vertex)
+    {
+        return inboundIterator(checkedIndexOf(vertex));
+    }
+
+    /**
+     * Iterates over the outbound edges of the specified vertex without boxing the neighbours
+     * @param vertex The vertex to be searched
+     * @return The iterator of the vertices where the edges end
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterateOutboundEdges(int vertex)
+    {
+        return outboundIterator(checkedIndexOf(vertex));
+    }
+
+    private PrimitiveIterator.OfInt inboundIterator(int index)
+    {
+        return new EdgeRangeIterator(inEdgesStart(index), inEdgesEnd(index))
+        {
+            @Override
+            protected int neighbour(int edge)
+            {
+                return vertexAt(inSource(edge));
+            }
+        };
+    }
+
+    private PrimitiveIterator.OfInt outboundIterator(int index)
+    {
+        return new EdgeRangeIterator(outEdgesStart(index), outEdgesEnd(index))
+        {
+            @Override
+            protected int neighbour(int edge)
+            {
+                return vertexAt(outTarget(edge));
+            }
+        };
+    }
+
+    /**
+     * Returns an iterable with the vertices of the graph
+     * @return An iterable with the vertices
+     */
+    @Override
+    public Iterable<Integer> parseVertices()
+    {
+        return () -> new PrimitiveIterator.OfInt()
+        {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return index < getNumberOfVertices();
+            }
+
+            @Override
+            public int nextInt()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return vertexAt(index++);
+            }
+        };
+    }
+
+    /**
+     * The graph cannot be modified, so its version never changes
+     * @return 0
+     */
+    @Override
+    public long getVersion()
+    {
+        return 0;
+    }
+
+    /**
+     * Checks if the specified vertex exists
+     * @param vertex The vertex to be checked
+     * @return true if the vertex is in the graph, false otherwise
+     */
+    @Override
+    public boolean existsVertex(int vertex)
+    {
+        return indexOf(vertex) >= 0;
+    }
+
+    /**
+     * Checks if the specified edge exists in the graph
+     * @param vertex1 The vertex from where the edge starts
+     * @param vertex2 The vertex where the edge ends
+     * @return true if the edge exists, false otherwise
+     */
+    @Override
+    public boolean existsEdge(int vertex1, int vertex2)
+    {
+        return findEdge(vertex1, vertex2, false) >= 0;
+    }
+
+    /**
+     * Gets the cost of the specified edge
+     * @param vertex1 The vertex from where the edge starts
+     * @param vertex2 The vertex where the edge ends
+     * @return The cost of the edge
+     */
+    @Override
+    public int getCost(int vertex1, int vertex2)
+    {
+        return outCost(findEdge(vertex1, vertex2, true));
+    }
+
+    private int findEdge(int vertex1, int vertex2, boolean required)
+    {
+        int index1 = indexOf(vertex1);
+        int index2 = indexOf(vertex2);
+        int edge = index1 < 0 || index2 < 0 ? -1 : findEdge(index1, index2);
+        if (edge < 0 && required)
+        {
+            throw new EdgeDoesNotExistException();
+        }
+        return edge;
+    }
+
+    private int checkedIndexOf(int vertex)
+    {
+        int index = indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+
+    @Override
+    public void changeCost(int vertex1, int vertex2, int newCost)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addVertex(int vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeVertex(int vertex)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addEdge(int vertex1, int vertex2, int cost)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeEdge(int vertex1, int vertex2)
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns an iterable containing the edges of the graph
+     * @return An iterable of VertexPair objects
+     */
+    @Override
+    public Iterable<VertexPair> parseEdges()
+    {
+        return () -> new Iterator<VertexPair>()
+        {
+            private int index = 0;
+            private int edge = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return edge < getNumberOfEdges();
+            }
+
+            @Override
+            public VertexPair next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                while (outEdgesEnd(index) <= edge)
+                {
+                    index++;
+                }
+                return new VertexPair(vertexAt(index), vertexAt(outTarget(edge++)));
+            }
+        };
+    }
+
+    /**
+     * Passes every edge of the graph, together with its cost, to the specified consumer
+     * @param consumer The consumer of the edges
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer consumer)
+    {
+        int vertexNumber = getNumberOfVertices();
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            int vertex = vertexAt(index);
+            for (int edge = outEdgesStart(index); edge < outEdgesEnd(index); edge++)
+            {
+                consumer.accept(vertex, vertexAt(outTarget(edge)), outCost(edge));
+            }
+        }
+    }
+
+    /**
+     * The graph cannot be modified, so it is its own copy
+     * @return This graph
+     */
+    @Override
+    public AbstractCompressedDirectedGraph copy()
+    {
+        return this;
+    }
+
+    /**
+     * Creates a modifiable graph with the same vertices and edges
+     * @return The new directedGraph object
+     */
+    public DirectedGraph toDirectedGraph()
+    {
+        int vertexNumber = getNumberOfVertices();
+        DirectedGraph directedGraph = new DirectedGraph(0, getNumberOfEdges());
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            directedGraph.addVertex(vertexAt(index));
+        }
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            for (int edge = outEdgesStart(index); edge < outEdgesEnd(index); edge++)
+            {
+                directedGraph.addEdge(vertexAt(index), vertexAt(outTarget(edge)), outCost(edge));
+            }
+        }
+        return directedGraph;
+    }
+
+    /**
+     * Iterates over a range of edges and yields their neighbours
+     */
+    private abstract static class EdgeRangeIterator implements PrimitiveIterator.OfInt
+    {
+        private int position;
+        private final int end;
+
+        EdgeRangeIterator(int start, int end)
+        {
+            this.position = start;
+            this.end = end;
+        }
+
+        protected abstract int neighbour(int edge);
+
+        @Override
+        public boolean hasNext()
+        {
+            return position < end;
+        }
+
+        @Override
+        public int nextInt()
+        {
+            if (!hasNext())
+            {
+                throw new NoSuchElementException();
+            }
+            return neighbour(position++);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package graphs;
+
+/**
+ * Summary of a bulk edge insertion
+ */
+public class BulkInsertResult
+{
+    private final int added;
+    private final int updated;
+    private final int skipped;
+    private final boolean rejected;
+
+    BulkInsertResult(int added, int updated, int skipped, boolean rejected)
+    {
+        this.added = added;
+        this.updated = updated;
+        this.skipped = skipped;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Gets the number of new edges added to the graph
+     */
+    public int getAdded()
+    {
+        return added;
+    }
+
+    /**
+     * Gets the number of edges already in the graph whose cost was replaced
+     */
+    public int getUpdated()
+    {
+        return updated;
+    }
+
+    /**
+     * Gets the number of edges of the batch which were not applied: duplicates, loops, or the whole batch if rejected
+     */
+    public int getSkipped()
+    {
+        return skipped;
+    }
+
+    /**
+     * Checks if the batch was rejected by the REJECT policy
+     * @return true if nothing was inserted because of a duplicate or invalid edge, false otherwise
+     */
+    public boolean isRejected()
+    {
+        return rejected;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BulkInsertResult{" +
+                "added=" + added +
+                ", updated=" + updated +
+                ", skipped=" + skipped +
+                ", rejected=" + rejected +
+                '}';
+    }
+}
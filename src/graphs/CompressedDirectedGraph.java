@@ -0,0 +1,303 @@
+package graphs;
+
+import graphs.exceptions.EdgeAlreadyExistsException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Models an immutable directed graph stored in compressed sparse row form, in primitive arrays on the heap
+ */
+public class CompressedDirectedGraph extends AbstractCompressedDirectedGraph
+{
+    /**
+     * The vertices of the graph, sorted increasingly; the position of a vertex is its index
+     */
+    private final int[] vertices;
+    /**
+     * The outbound edges of the vertex with index i are in the range [outOffsets[i], outOffsets[i + 1])
+     */
+    private final int[] outOffsets;
+    /**
+     * The indices of the vertices where the outbound edges end
+     */
+    private final int[] outTargets;
+    /**
+     * The costs of the outbound edges
+     */
+    private final int[] outCosts;
+    /**
+     * The inbound edges of the vertex with index i are in the range [inOffsets[i], inOffsets[i + 1])
+     */
+    private final int[] inOffsets;
+    /**
+     * The indices of the vertices where the inbound edges start
+     */
+    private final int[] inSources;
+    /**
+     * The costs of the inbound edges
+     */
+    private final int[] inCosts;
+
+    CompressedDirectedGraph(
+            int[] vertices,
+            int[] outOffsets,
+            int[] outTargets,
+            int[] outCosts,
+            int[] inOffsets,
+            int[] inSources,
+            int[] inCosts
+    )
+    {
+        this.vertices = vertices;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outCosts = outCosts;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inCosts = inCosts;
+    }
+
+    /**
+     * Creates a compressed snapshot of the specified graph
+     * @param graph The graph to be compressed
+     * @return The snapshot
+     */
+    public static CompressedDirectedGraph of(DirectedGraphView graph)
+    {
+        if (graph instanceof CompressedDirectedGraph)
+        {
+            return (CompressedDirectedGraph) graph;
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        int edgeNumber = graph.getNumberOfEdges();
+
+        int[] vertices = new int[vertexNumber];
+        int position = 0;
+        for (int vertex : graph.parseVertices())
+        {
+            vertices[position++] = vertex;
+        }
+        Arrays.sort(vertices);
+
+        int[] outOffsets = new int[vertexNumber + 1];
+        int[] outTargets = new int[edgeNumber];
+        int[] outCosts = new int[edgeNumber];
+        int[] inOffsets = new int[vertexNumber + 1];
+        int[] inSources = new int[edgeNumber];
+        int[] inCosts = new int[edgeNumber];
+
+        int outPosition = 0;
+        int inPosition = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            int vertex = vertices[index];
+
+            outOffsets[index] = outPosition;
+            for (PrimitiveIterator.OfInt neighbours = graph.iterateOutboundEdges(vertex); neighbours.hasNext(); )
+            {
+                outTargets[outPosition++] = Arrays.binarySearch(vertices, neighbours.nextInt());
+            }
+            Arrays.sort(outTargets, outOffsets[index], outPosition);
+            for (int edge = outOffsets[index]; edge < outPosition; edge++)
+            {
+                outCosts[edge] = graph.getCost(vertex, vertices[outTargets[edge]]);
+            }
+
+            inOffsets[index] = inPosition;
+            for (PrimitiveIterator.OfInt neighbours = graph.iterateInboundEdges(vertex); neighbours.hasNext(); )
+            {
+                inSources[inPosition++] = Arrays.binarySearch(vertices, neighbours.nextInt());
+            }
+            Arrays.sort(inSources, inOffsets[index], inPosition);
+            for (int edge = inOffsets[index]; edge < inPosition; edge++)
+            {
+                inCosts[edge] = graph.getCost(vertices[inSources[edge]], vertex);
+            }
+        }
+        outOffsets[vertexNumber] = outPosition;
+        inOffsets[vertexNumber] = inPosition;
+
+        return new CompressedDirectedGraph(vertices, outOffsets, outTargets, outCosts, inOffsets, inSources, inCosts);
+    }
+
+    /**
+     * Creates a graph with the vertices 0..vertexNumber-1 and the specified edges, without building a DirectedGraph first.
+     * The rows are sorted in parallel
+     * @param vertexNumber The number of vertices
+     * @param vertices1 The vertices from where the edges start
+     * @param vertices2 The vertices where the edges end
+     * @param costs The costs of the edges
+     * @return The new graph
+     * @throws VertexDoesNotExistException if an edge has a vertex outside 0..vertexNumber-1
+     * @throws EdgeAlreadyExistsException if an edge is given more than once
+     */
+    public static CompressedDirectedGraph fromEdges(int vertexNumber, int[] vertices1, int[] vertices2, int[] costs)
+    {
+        int edgeNumber = vertices1.length;
+        int[] vertices = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            vertices[index] = index;
+        }
+
+        int[] outOffsets = new int[vertexNumber + 1];
+        int[] inOffsets = new int[vertexNumber + 1];
+        for (int edge = 0; edge < edgeNumber; edge++)
+        {
+            int vertex1 = vertices1[edge];
+            int vertex2 = vertices2[edge];
+            if (vertex1 < 0 || vertex1 >= vertexNumber || vertex2 < 0 || vertex2 >= vertexNumber)
+            {
+                throw new VertexDoesNotExistException();
+            }
+            outOffsets[vertex1 + 1]++;
+            inOffsets[vertex2 + 1]++;
+        }
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            outOffsets[index + 1] += outOffsets[index];
+            inOffsets[index + 1] += inOffsets[index];
+        }
+
+        // every row entry packs the neighbour in the high half and the cost in the low half, so sorting orders by neighbour
+        long[] outRows = new long[edgeNumber];
+        long[] inRows = new long[edgeNumber];
+        int[] outFill = Arrays.copyOf(outOffsets, vertexNumber);
+        int[] inFill = Arrays.copyOf(inOffsets, vertexNumber);
+        for (int edge = 0; edge < edgeNumber; edge++)
+        {
+            long cost = costs[edge] & 0xFFFFFFFFL;
+            outRows[outFill[vertices1[edge]]++] = ((long) vertices2[edge] << 32) | cost;
+            inRows[inFill[vertices2[edge]]++] = ((long) vertices1[edge] << 32) | cost;
+        }
+        IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+        {
+            Arrays.sort(outRows, outOffsets[index], outOffsets[index + 1]);
+            Arrays.sort(inRows, inOffsets[index], inOffsets[index + 1]);
+        });
+
+        int[] outTargets = new int[edgeNumber];
+        int[] outCosts = new int[edgeNumber];
+        int[] inSources = new int[edgeNumber];
+        int[] inCosts = new int[edgeNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            for (int edge = outOffsets[index]; edge < outOffsets[index + 1]; edge++)
+            {
+                outTargets[edge] = (int) (outRows[edge] >>> 32);
+                outCosts[edge] = (int) outRows[edge];
+                if (edge > outOffsets[index] && outTargets[edge] == outTargets[edge - 1])
+                {
+                    throw new EdgeAlreadyExistsException();
+                }
+            }
+        }
+        for (int edge = 0; edge < edgeNumber; edge++)
+        {
+            inSources[edge] = (int) (inRows[edge] >>> 32);
+            inCosts[edge] = (int) inRows[edge];
+        }
+        return new CompressedDirectedGraph(vertices, outOffsets, outTargets, outCosts, inOffsets, inSources, inCosts);
+    }
+
+    @Override
+    public int indexOf(int vertex)
+    {
+        int index = Arrays.binarySearch(vertices, vertex);
+        return index < 0 ? -1 : index;
+    }
+
+    @Override
+    public int findEdge(int index1, int index2)
+    {
+        int edge = Arrays.binarySearch(outTargets, outOffsets[index1], outOffsets[index1 + 1], index2);
+        return edge < 0 ? -1 : edge;
+    }
+
+    @Override
+    public int vertexAt(int index)
+    {
+        return vertices[index];
+    }
+
+    @Override
+    public int outEdgesStart(int index)
+    {
+        return outOffsets[index];
+    }
+
+    @Override
+    public int outEdgesEnd(int index)
+    {
+        return outOffsets[index + 1];
+    }
+
+    @Override
+    public int outTarget(int edge)
+    {
+        return outTargets[edge];
+    }
+
+    @Override
+    public int outCost(int edge)
+    {
+        return outCosts[edge];
+    }
+
+    @Override
+    public int inEdgesStart(int index)
+    {
+        return inOffsets[index];
+    }
+
+    @Override
+    public int inEdgesEnd(int index)
+    {
+        return inOffsets[index + 1];
+    }
+
+    @Override
+    public int inSource(int edge)
+    {
+        return inSources[edge];
+    }
+
+    @Override
+    public int inCost(int edge)
+    {
+        return inCosts[edge];
+    }
+
+    /**
+     * Get the number of vertices of the graph
+     * @return The number of vertices
+     */
+    @Override
+    public int getNumberOfVertices()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Gets the number of edges of the graph
+     * @return THe number of edges
+     */
+    @Override
+    public int getNumberOfEdges()
+    {
+        return outTargets.length;
+    }
+
+    /**
+     * The snapshot cannot be modified, so it is its own copy
+     * @return This graph
+     */
+    @Override
+    public CompressedDirectedGraph copy()
+    {
+        return this;
+    }
+}
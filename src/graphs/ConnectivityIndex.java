@@ -0,0 +1,179 @@
+package graphs;
+
+import graphs.collections.IntArrayList;
+import graphs.collections.IntIntHashMap;
+import graphs.collections.UnionFind;
+import graphs.exceptions.VertexDoesNotExistException;
+
+/**
+ * The connected components of an undirected graph, kept up to date while the graph changes.
+ * Every vertex is an item of a union-find, so added vertices and edges cost almost constant time.
+ * A removed edge or vertex may split its component, which a union-find cannot undo; the set is only marked,
+ * and before the next query every marked set is split into single items and linked again through the edges
+ * of its own vertices, so a rebuild only touches the components which lost edges
+ */
+public class ConnectivityIndex
+{
+    private static final int MISSING = -1;
+    /**
+     * The vertex of an item whose vertex was removed, while it may still be in the set of its old component
+     */
+    private static final int REMOVED = -1;
+    /**
+     * The vertex of an item whose vertex was removed, once it is alone in its set and can be given to a new vertex
+     */
+    private static final int FREE = -2;
+
+    private final UndirectedGraph graph;
+    private final UnionFind unionFind;
+    /**
+     * The item of every vertex
+     */
+    private final IntIntHashMap items;
+    /**
+     * The vertex of every item, REMOVED or FREE for the items without a vertex
+     */
+    private final IntArrayList vertices;
+    /**
+     * The FREE items
+     */
+    private final IntArrayList freeItems;
+    /**
+     * An item of every set which lost an edge or a vertex since the last rebuild
+     */
+    private final IntArrayList dirtyItems;
+
+    /**
+     * Creates the index of the graph from its current vertices and edges
+     */
+    ConnectivityIndex(UndirectedGraph graph)
+    {
+        this.graph = graph;
+        int vertexNumber = graph.getNumberOfVertices();
+        unionFind = new UnionFind(0);
+        items = new IntIntHashMap(vertexNumber);
+        vertices = new IntArrayList(vertexNumber);
+        freeItems = new IntArrayList();
+        dirtyItems = new IntArrayList();
+        for (int vertex : graph.parseVertices())
+        {
+            vertexAdded(vertex);
+        }
+        graph.forEachEdge((vertex1, vertex2, cost) -> edgeAdded(vertex1, vertex2));
+    }
+
+    /**
+     * Checks if there is a walk between the two vertices
+     * @throws VertexDoesNotExistException if one of the vertices is not in the graph
+     */
+    public boolean areConnected(int vertex1, int vertex2)
+    {
+        int item1 = itemOf(vertex1);
+        int item2 = itemOf(vertex2);
+        rebuildDirtySets();
+        return unionFind.connected(item1, item2);
+    }
+
+    /**
+     * Gets the number of connected components of the graph
+     */
+    public int getNumberOfComponents()
+    {
+        rebuildDirtySets();
+        // the items without a vertex are alone in their sets after a rebuild
+        return unionFind.getNumberOfSets() - (unionFind.size() - items.size());
+    }
+
+    void vertexAdded(int vertex)
+    {
+        if (freeItems.isEmpty())
+        {
+            items.put(vertex, unionFind.add());
+            vertices.add(vertex);
+        }
+        else
+        {
+            int item = freeItems.removeLast();
+            items.put(vertex, item);
+            vertices.set(item, vertex);
+        }
+    }
+
+    /**
+     * Called after the vertex and its edges were removed from the graph
+     */
+    void vertexRemoved(int vertex)
+    {
+        int item = items.get(vertex, MISSING);
+        items.remove(vertex);
+        vertices.set(item, REMOVED);
+        dirtyItems.add(item);
+    }
+
+    void edgeAdded(int vertex1, int vertex2)
+    {
+        unionFind.union(items.get(vertex1, MISSING), items.get(vertex2, MISSING));
+    }
+
+    /**
+     * Called after the edge was removed from the graph
+     */
+    void edgeRemoved(int vertex1, int vertex2)
+    {
+        // both vertices are in the same set, so one of them marks it
+        dirtyItems.add(items.get(vertex1, MISSING));
+    }
+
+    /**
+     * Splits every marked set into single items and links them again through the edges of the graph
+     */
+    private void rebuildDirtySets()
+    {
+        if (dirtyItems.isEmpty())
+        {
+            return;
+        }
+        // the sets are told apart by their roots before any of them is split
+        IntIntHashMap roots = new IntIntHashMap(dirtyItems.size());
+        IntArrayList distinctRoots = new IntArrayList();
+        for (int i = 0; i < dirtyItems.size(); i++)
+        {
+            int root = unionFind.find(dirtyItems.get(i));
+            if (!roots.containsKey(root))
+            {
+                roots.put(root, 0);
+                distinctRoots.add(root);
+            }
+        }
+        dirtyItems.clear();
+        for (int i = 0; i < distinctRoots.size(); i++)
+        {
+            IntArrayList members = unionFind.split(distinctRoots.get(i));
+            for (int j = 0; j < members.size(); j++)
+            {
+                int item = members.get(j);
+                int vertex = vertices.get(item);
+                if (vertex == REMOVED)
+                {
+                    vertices.set(item, FREE);
+                    freeItems.add(item);
+                    continue;
+                }
+                for (int neighbour : graph.parseAdjacentEdges(vertex))
+                {
+                    unionFind.union(item, items.get(neighbour, MISSING));
+                }
+            }
+        }
+    }
+
+    private int itemOf(int vertex)
+    {
+        int item = items.get(vertex, MISSING);
+        if (item == MISSING)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return item;
+    }
+}
@@ -1,38 +1,66 @@
 package graphs;
 
+import graphs.collections.LongIntHashMap;
 import graphs.exceptions.EdgeAlreadyExistsException;
 import graphs.exceptions.EdgeDoesNotExistException;
 import graphs.exceptions.VertexAlreadyExistsException;
 import graphs.exceptions.VertexDoesNotExistException;
+import graphs.storage.AdjacencyStorage;
+import graphs.storage.StorageType;
 
+import java.lang.ref.SoftReference;
 import java.util.*;
 
 /**
  * Models a directed graph data structure
  */
-public class DirectedGraph implements Graph
+public class DirectedGraph implements DirectedGraphView
 {
+    /**
+     * The storage engine used for the adjacency lists
+     */
+    protected final StorageType storageType;
     /**
      * Maps the vertices to a list of their inbound edges
      */
-    protected Map<Integer, List<Integer>> inEdges;
+    protected AdjacencyStorage inEdges;
     /**
      * Maps the vertices to a list of their outbound edges
      */
-    protected Map<Integer, List<Integer>> outEdges;
+    protected AdjacencyStorage outEdges;
+    /**
+     * Maps the edges, packed with EdgeKey, to their associated cost
+     */
+    protected LongIntHashMap edges;
+    /**
+     * The modification counter, incremented by every change of the graph
+     */
+    protected long version;
     /**
-     * Maps the edges to their associated cost
+     * The last snapshot created by freeze and the version of the graph it was created from; the snapshot is
+     * dropped by any change of the graph, and may be reclaimed when memory runs low
      */
-    protected Map<VertexPair, Integer> edges;
+    private SoftReference<CompressedDirectedGraph> frozenGraph;
+    private long frozenVersion;
 
     /**
      * Creates an empty graph
      */
     public DirectedGraph()
     {
-        inEdges = new HashMap<>();
-        outEdges = new HashMap<>();
-        edges = new HashMap<>();
+        this(StorageType.LIST);
+    }
+
+    /**
+     * Creates an empty graph
+     * @param storageType The storage engine to be used for the adjacency lists
+     */
+    public DirectedGraph(StorageType storageType)
+    {
+        this.storageType = storageType;
+        inEdges = storageType.createStorage(0);
+        outEdges = storageType.createStorage(0);
+        edges = new LongIntHashMap();
     }
 
     /**
@@ -42,9 +70,21 @@ public class DirectedGraph implements Graph
      */
     public DirectedGraph(int initialVertexNumber, int initialEdgeNumber)
     {
-        inEdges = new HashMap<>(initialVertexNumber);
-        outEdges = new HashMap<>(initialVertexNumber);
-        edges = new HashMap<>(initialEdgeNumber);
+        this(initialVertexNumber, initialEdgeNumber, StorageType.LIST);
+    }
+
+    /**
+     * Creates a graph with the specified number of vertices
+     * @param initialVertexNumber Initial number of vertices of the graph
+     * @param initialEdgeNumber The space to allocate for the edges of the graph
+     * @param storageType The storage engine to be used for the adjacency lists
+     */
+    public DirectedGraph(int initialVertexNumber, int initialEdgeNumber, StorageType storageType)
+    {
+        this.storageType = storageType;
+        inEdges = storageType.createStorage(initialVertexNumber);
+        outEdges = storageType.createStorage(initialVertexNumber);
+        edges = new LongIntHashMap(initialEdgeNumber);
 
         for (int i = 0; i < initialVertexNumber; i++)
         {
@@ -59,7 +99,7 @@ public class DirectedGraph implements Graph
     @Override
     public int getNumberOfVertices()
     {
-        return inEdges.size();
+        return inEdges.getNumberOfVertices();
     }
 
     /**
@@ -77,6 +117,7 @@ public class DirectedGraph implements Graph
      * @param vertex The vertex for which to calculate the in degree
      * @return The computed in degree
      */
+    @Override
     public int inDegree(int vertex)
     {
         if (!existsVertex(vertex))
@@ -84,7 +125,7 @@ public class DirectedGraph implements Graph
             throw new VertexDoesNotExistException();
         }
 
-        return inEdges.get(vertex).size();
+        return inEdges.degree(vertex);
     }
 
     /**
@@ -92,6 +133,7 @@ public class DirectedGraph implements Graph
      * @param vertex The vertex for which to calculate the out degree
      * @return The computed out degree
      */
+    @Override
     public int outDegree(int vertex)
     {
         if (!existsVertex(vertex))
@@ -99,7 +141,7 @@ public class DirectedGraph implements Graph
             throw new VertexDoesNotExistException();
         }
 
-        return outEdges.get(vertex).size();
+        return outEdges.degree(vertex);
     }
 
     /**
@@ -107,13 +149,14 @@ public class DirectedGraph implements Graph
      * @param vertex The vertex to be searched
      * @return The iterable of edges
      */
+    @Override
     public Iterable<Integer> parseInboundEdges(int vertex)
     {
         if (!existsVertex(vertex))
         {
             throw new VertexDoesNotExistException();
         }
-        return Collections.unmodifiableList(inEdges.get(vertex));
+        return inEdges.neighbours(vertex);
     }
 
     /**
@@ -121,13 +164,44 @@ public class DirectedGraph implements Graph
      * @param vertex The vertex to be searched
      * @return The iterable of edges
      */
+    @Override
     public Iterable<Integer> parseOutboundEdges(int vertex)
     {
         if (!existsVertex(vertex))
         {
             throw new VertexDoesNotExistException();
         }
-        return Collections.unmodifiableList(outEdges.get(vertex));
+        return outEdges.neighbours(vertex);
+    }
+
+    /**
+     * Iterates over the inbound edges of the specified vertex without boxing the neighbours
+     * @param vertex The vertex to be searched
+     * @return The iterator of the vertices where the edges start
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterateInboundEdges(int vertex)
+    {
+        if (!existsVertex(vertex))
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return inEdges.neighbourIterator(vertex);
+    }
+
+    /**
+     * Iterates over the outbound edges of the specified vertex without boxing the neighbours
+     * @param vertex The vertex to be searched
+     * @return The iterator of the vertices where the edges end
+     */
+    @Override
+    public PrimitiveIterator.OfInt iterateOutboundEdges(int vertex)
+    {
+        if (!existsVertex(vertex))
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return outEdges.neighbourIterator(vertex);
     }
 
     /**
@@ -137,7 +211,7 @@ public class DirectedGraph implements Graph
     @Override
     public Iterable<Integer> parseVertices()
     {
-        return Collections.unmodifiableSet(inEdges.keySet());
+        return inEdges.vertices();
     }
 
     /**
@@ -149,7 +223,7 @@ public class DirectedGraph implements Graph
     @Override
     public boolean existsEdge(int vertex1, int vertex2)
     {
-        return edges.containsKey(new VertexPair(vertex1, vertex2));
+        return edges.containsKey(EdgeKey.of(vertex1, vertex2));
     }
 
     /**
@@ -161,11 +235,12 @@ public class DirectedGraph implements Graph
     @Override
     public int getCost(int vertex1, int vertex2)
     {
-        if (!existsEdge(vertex1, vertex2))
+        int index = edges.indexOf(EdgeKey.of(vertex1, vertex2));
+        if (index < 0)
         {
             throw new EdgeDoesNotExistException();
         }
-        return edges.get(new VertexPair(vertex1, vertex2));
+        return edges.indexGet(index);
     }
 
     /**
@@ -177,11 +252,13 @@ public class DirectedGraph implements Graph
     @Override
     public void changeCost(int vertex1, int vertex2, int newCost)
     {
-        if (!existsEdge(vertex1, vertex2))
+        int index = edges.indexOf(EdgeKey.of(vertex1, vertex2));
+        if (index < 0)
         {
             throw new EdgeDoesNotExistException();
         }
-        edges.put(new VertexPair(vertex1, vertex2), newCost);
+        edges.indexReplace(index, newCost);
+        changed();
     }
 
     /**
@@ -195,8 +272,9 @@ public class DirectedGraph implements Graph
         {
             throw new VertexAlreadyExistsException();
         }
-        inEdges.put(vertex, new ArrayList<>());
-        outEdges.put(vertex, new ArrayList<>());
+        inEdges.addVertex(vertex);
+        outEdges.addVertex(vertex);
+        changed();
     }
 
     /**
@@ -204,9 +282,10 @@ public class DirectedGraph implements Graph
      * @param vertex The vertex to be checked
      * @return true if the vertex is in the graph, false otherwise
      */
+    @Override
     public boolean existsVertex(int vertex)
     {
-        return inEdges.containsKey(vertex);
+        return inEdges.containsVertex(vertex);
     }
 
     /**
@@ -221,20 +300,24 @@ public class DirectedGraph implements Graph
             throw new VertexDoesNotExistException();
         }
 
-        List<Integer> inEdgesList = inEdges.get(vertex);
-        while (!inEdgesList.isEmpty())
+        // the lists of the removed vertex are dropped at once, only the lists of its neighbours are updated
+        for (int vertex1 : inEdges.neighbours(vertex))
         {
-            int vertex1 = inEdgesList.get(0);
-            removeEdge(vertex1, vertex);
+            outEdges.removeNeighbour(vertex1, vertex);
+            edges.remove(EdgeKey.of(vertex1, vertex));
         }
-        List<Integer> outEdgesList = outEdges.get(vertex);
-        while (!outEdgesList.isEmpty())
+        for (int vertex2 : outEdges.neighbours(vertex))
         {
-            int vertex2 = outEdgesList.get(0);
-            removeEdge(vertex, vertex2);
+            // a loop was already removed together with the inbound edges
+            if (vertex2 != vertex)
+            {
+                inEdges.removeNeighbour(vertex2, vertex);
+                edges.remove(EdgeKey.of(vertex, vertex2));
+            }
         }
-        inEdges.remove(vertex);
-        outEdges.remove(vertex);
+        inEdges.removeVertex(vertex);
+        outEdges.removeVertex(vertex);
+        changed();
     }
 
     /**
@@ -258,9 +341,69 @@ public class DirectedGraph implements Graph
         {
             throw new EdgeAlreadyExistsException();
         }
-        inEdges.get(vertex2).add(vertex1);
-        outEdges.get(vertex1).add(vertex2);
-        edges.put(new VertexPair(vertex1, vertex2), cost);
+        inEdges.addNeighbour(vertex2, vertex1);
+        outEdges.addNeighbour(vertex1, vertex2);
+        edges.put(EdgeKey.of(vertex1, vertex2), cost);
+        changed();
+    }
+
+    /**
+     * Adds a batch of edges to the graph; duplicate edges are handled by the policy instead of throwing
+     * @param vertices1 The vertices from where the edges start
+     * @param vertices2 The vertices where the edges end
+     * @param costs The costs of the edges
+     * @param policy Decides what happens to the edges which already exist
+     * @return The summary of the insertion
+     * @throws VertexDoesNotExistException if an edge has a vertex which is not in the graph; nothing is inserted then
+     */
+    public BulkInsertResult addEdges(int[] vertices1, int[] vertices2, int[] costs, DuplicatePolicy policy)
+    {
+        if (vertices1.length != vertices2.length || vertices1.length != costs.length)
+        {
+            throw new IllegalArgumentException("The edge arrays must have the same length");
+        }
+        long[] keys = new long[vertices1.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (!existsVertex(vertices1[i]) || !existsVertex(vertices2[i]))
+            {
+                throw new VertexDoesNotExistException();
+            }
+            keys[i] = EdgeKey.of(vertices1[i], vertices2[i]);
+        }
+        EdgeBatch batch = new EdgeBatch(keys, null, edges, policy);
+        if (batch.isRejected(policy))
+        {
+            return new BulkInsertResult(0, 0, keys.length, true);
+        }
+        edges.ensureCapacity(edges.size() + batch.size);
+        batch.reserveNeighbours(outEdges, vertices1);
+        batch.reserveNeighbours(inEdges, vertices2);
+
+        int added = 0;
+        int updated = 0;
+        for (int j = 0; j < batch.size; j++)
+        {
+            int i = batch.positions[j];
+            int index = edges.indexOf(keys[i]);
+            if (index >= 0)
+            {
+                edges.indexReplace(index, costs[i]);
+                updated++;
+            }
+            else
+            {
+                inEdges.addNeighbour(vertices2[i], vertices1[i]);
+                outEdges.addNeighbour(vertices1[i], vertices2[i]);
+                edges.put(keys[i], costs[i]);
+                added++;
+            }
+        }
+        if (added + updated > 0)
+        {
+            changed();
+        }
+        return new BulkInsertResult(added, updated, keys.length - added - updated, false);
     }
 
     /**
@@ -284,9 +427,10 @@ public class DirectedGraph implements Graph
             throw new EdgeDoesNotExistException();
         }
 
-        inEdges.get(vertex2).remove(Integer.valueOf(vertex1));
-        outEdges.get(vertex1).remove(Integer.valueOf(vertex2));
-        edges.remove(new VertexPair(vertex1, vertex2));
+        inEdges.removeNeighbour(vertex2, vertex1);
+        outEdges.removeNeighbour(vertex1, vertex2);
+        edges.remove(EdgeKey.of(vertex1, vertex2));
+        changed();
     }
 
     /**
@@ -296,7 +440,43 @@ public class DirectedGraph implements Graph
     @Override
     public Iterable<VertexPair> parseEdges()
     {
-        return Collections.unmodifiableSet(edges.keySet());
+        return () -> new Iterator<VertexPair>()
+        {
+            private final LongIntHashMap.Cursor cursor = edges.cursor();
+            private boolean hasNext = cursor.next();
+
+            @Override
+            public boolean hasNext()
+            {
+                return hasNext;
+            }
+
+            @Override
+            public VertexPair next()
+            {
+                if (!hasNext)
+                {
+                    throw new NoSuchElementException();
+                }
+                long key = cursor.key();
+                hasNext = cursor.next();
+                return new VertexPair(EdgeKey.vertex1(key), EdgeKey.vertex2(key));
+            }
+        };
+    }
+
+    /**
+     * Passes every edge of the graph, together with its cost, to the specified consumer
+     * @param consumer The consumer of the edges
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer consumer)
+    {
+        LongIntHashMap.Cursor cursor = edges.cursor();
+        while (cursor.next())
+        {
+            consumer.accept(EdgeKey.vertex1(cursor.key()), EdgeKey.vertex2(cursor.key()), cursor.value());
+        }
     }
 
     /**
@@ -306,15 +486,53 @@ public class DirectedGraph implements Graph
     @Override
     public DirectedGraph copy()
     {
-        DirectedGraph newGraph = new DirectedGraph();
-        for (Integer vertex : inEdges.keySet())
+        DirectedGraph newGraph = new DirectedGraph(0, edges.size(), storageType);
+        for (int vertex : inEdges.vertices())
         {
             newGraph.addVertex(vertex);
         }
-        for (VertexPair edge : edges.keySet())
+        LongIntHashMap.Cursor cursor = edges.cursor();
+        while (cursor.next())
         {
-            newGraph.addEdge(edge.getVertex1(), edge.getVertex2(), edges.get(edge));
+            newGraph.addEdge(EdgeKey.vertex1(cursor.key()), EdgeKey.vertex2(cursor.key()), cursor.value());
         }
         return newGraph;
     }
+
+    /**
+     * Gets the modification counter of the graph, which changes whenever a vertex or an edge is added or removed
+     * or a cost is changed; results computed from the graph are still valid while the version is the same
+     * @return The version
+     */
+    @Override
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /**
+     * Creates an immutable compressed snapshot of the graph, suited for read-heavy workloads.
+     * The snapshot is reused until the graph is modified or the memory it holds is needed
+     * @return The snapshot as a CompressedDirectedGraph object
+     */
+    public CompressedDirectedGraph freeze()
+    {
+        CompressedDirectedGraph snapshot = frozenGraph == null ? null : frozenGraph.get();
+        if (snapshot == null || frozenVersion != version)
+        {
+            snapshot = CompressedDirectedGraph.of(this);
+            frozenGraph = new SoftReference<>(snapshot);
+            frozenVersion = version;
+        }
+        return snapshot;
+    }
+
+    /**
+     * Records a change of the graph, dropping the snapshot of the previous version
+     */
+    private void changed()
+    {
+        version++;
+        frozenGraph = null;
+    }
 }
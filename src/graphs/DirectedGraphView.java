@@ -0,0 +1,34 @@
+package graphs;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * The read operations shared by every directed graph representation
+ */
+public interface DirectedGraphView extends Graph
+{
+    boolean existsVertex(int vertex);
+
+    int inDegree(int vertex);
+
+    int outDegree(int vertex);
+
+    Iterable<Integer> parseInboundEdges(int vertex);
+
+    Iterable<Integer> parseOutboundEdges(int vertex);
+
+    /**
+     * Iterates over the vertices with an edge to the specified vertex, as ints
+     */
+    PrimitiveIterator.OfInt iterateInboundEdges(int vertex);
+
+    /**
+     * Iterates over the vertices with an edge from the specified vertex, as ints
+     */
+    PrimitiveIterator.OfInt iterateOutboundEdges(int vertex);
+
+    long getVersion();
+
+    @Override
+    Iterable<VertexPair> parseEdges();
+}
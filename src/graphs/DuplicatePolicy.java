@@ -0,0 +1,21 @@
+package graphs;
+
+/**
+ * Decides what a bulk edge insertion does with the edges which already exist,
+ * either in the graph or earlier in the same batch
+ */
+public enum DuplicatePolicy
+{
+    /**
+     * Nothing is inserted if the batch has any duplicate or invalid edge
+     */
+    REJECT,
+    /**
+     * The duplicates are skipped; the first occurrence of an edge is kept
+     */
+    SKIP,
+    /**
+     * The last occurrence of an edge is kept; the cost of an edge already in the graph is replaced
+     */
+    KEEP_LAST
+}
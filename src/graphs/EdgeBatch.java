@@ -0,0 +1,115 @@
+package graphs;
+
+import graphs.collections.IntIntHashMap;
+import graphs.collections.LongIntHashMap;
+import graphs.storage.AdjacencyStorage;
+
+/**
+ * Decides which edges of a bulk insertion are applied, according to a duplicate policy.
+ * The duplicates are found with a hash map from the packed edges to their last position in the batch,
+ * so no exception is thrown for them
+ */
+final class EdgeBatch
+{
+    private static final int MISSING = -1;
+
+    /**
+     * The positions of the edges to be applied, in batch order
+     */
+    final int[] positions;
+    /**
+     * The number of positions
+     */
+    final int size;
+    /**
+     * The number of duplicate and invalid edges in the batch
+     */
+    final int conflicts;
+
+    /**
+     * Plans a bulk insertion
+     * @param keys The edges of the batch, packed with EdgeKey
+     * @param invalid Marks the edges which can never be added, such as loops; null if every edge is valid
+     * @param existing The edges already in the graph
+     * @param policy The duplicate policy
+     */
+    EdgeBatch(long[] keys, boolean[] invalid, LongIntHashMap existing, DuplicatePolicy policy)
+    {
+        LongIntHashMap selected = new LongIntHashMap(keys.length);
+        int conflicts = 0;
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (invalid != null && invalid[i])
+            {
+                conflicts++;
+                continue;
+            }
+            boolean inGraph = existing.containsKey(keys[i]);
+            boolean inBatch = selected.containsKey(keys[i]);
+            if (inGraph || inBatch)
+            {
+                conflicts++;
+            }
+            if (policy == DuplicatePolicy.KEEP_LAST || !(inGraph || inBatch))
+            {
+                selected.put(keys[i], i);
+            }
+        }
+        this.conflicts = conflicts;
+
+        int[] positions = new int[selected.size()];
+        int size = 0;
+        if (policy != DuplicatePolicy.REJECT || conflicts == 0)
+        {
+            for (int i = 0; i < keys.length; i++)
+            {
+                if ((invalid == null || !invalid[i]) && selected.get(keys[i], MISSING) == i)
+                {
+                    positions[size++] = i;
+                }
+            }
+        }
+        this.positions = positions;
+        this.size = size;
+    }
+
+    /**
+     * Makes room in the storage for the neighbours added by the batch, so the buffers grow at most once
+     * @param storage The storage where the neighbours are added
+     * @param endpoints The arrays with the vertices which receive a neighbour for every applied edge
+     */
+    void reserveNeighbours(AdjacencyStorage storage, int[]... endpoints)
+    {
+        IntIntHashMap counts = new IntIntHashMap(size);
+        for (int[] vertices : endpoints)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                int vertex = vertices[positions[i]];
+                counts.put(vertex, counts.get(vertex, 0) + 1);
+            }
+        }
+        for (int[] vertices : endpoints)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                int vertex = vertices[positions[i]];
+                // a single neighbour fits in the usual growth, so only the vertices receiving several are reserved
+                int count = counts.get(vertex, 0);
+                if (count > 1)
+                {
+                    storage.ensureCapacity(vertex, storage.degree(vertex) + count);
+                    counts.put(vertex, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the whole batch is rejected
+     */
+    boolean isRejected(DuplicatePolicy policy)
+    {
+        return policy == DuplicatePolicy.REJECT && conflicts > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package graphs;
+
+/**
+ * Receives the edges of a graph together with their costs, without allocating a pair for every edge
+ */
+@FunctionalInterface
+public interface EdgeConsumer
+{
+    /**
+     * Receives an edge
+     * @param vertex1 The vertex from where the edge starts
+     * @param vertex2 The vertex where the edge ends
+     * @param cost The cost of the edge
+     */
+    void accept(int vertex1, int vertex2, int cost);
+}
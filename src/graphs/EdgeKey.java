@@ -0,0 +1,47 @@
+package graphs;
+
+/**
+ * Packs the two vertices of an edge in a single long, used as key by the primitive edge indices
+ */
+public final class EdgeKey
+{
+    private EdgeKey()
+    {
+    }
+
+    /**
+     * Packs the specified directed edge
+     * @param vertex1 The vertex from where the edge starts
+     * @param vertex2 The vertex where the edge ends
+     * @return The packed edge
+     */
+    public static long of(int vertex1, int vertex2)
+    {
+        return ((long) vertex1 << 32) | (vertex2 & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the specified undirected edge, so that both orders of the vertices give the same key
+     * @return The packed edge, with the smaller vertex first
+     */
+    public static long ofUnordered(int vertex1, int vertex2)
+    {
+        return vertex1 <= vertex2 ? of(vertex1, vertex2) : of(vertex2, vertex1);
+    }
+
+    /**
+     * Gets the vertex from where the packed edge starts
+     */
+    public static int vertex1(long key)
+    {
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Gets the vertex where the packed edge ends
+     */
+    public static int vertex2(long key)
+    {
+        return (int) key;
+    }
+}
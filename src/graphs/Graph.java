@@ -25,5 +25,7 @@ public interface Graph
 
     Iterable<? extends VertexPair> parseEdges();
 
+    void forEachEdge(EdgeConsumer consumer);
+
     Graph copy();
 }
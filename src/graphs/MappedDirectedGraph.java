@@ -0,0 +1,114 @@
+package graphs;
+
+import java.nio.IntBuffer;
+
+/**
+ * Models an immutable directed graph stored in compressed sparse row form, in int buffers.
+ * The buffers are usually memory mapped from a binary graph file, so the graph is served without being loaded
+ */
+public class MappedDirectedGraph extends AbstractCompressedDirectedGraph
+{
+    private final IntBuffer vertices;
+    private final IntBuffer outOffsets;
+    private final IntBuffer outTargets;
+    private final IntBuffer outCosts;
+    private final IntBuffer inOffsets;
+    private final IntBuffer inSources;
+    private final IntBuffer inCosts;
+
+    /**
+     * Creates a graph over the specified buffers, which follow the layout of the CompressedDirectedGraph arrays
+     */
+    public MappedDirectedGraph(
+            IntBuffer vertices,
+            IntBuffer outOffsets,
+            IntBuffer outTargets,
+            IntBuffer outCosts,
+            IntBuffer inOffsets,
+            IntBuffer inSources,
+            IntBuffer inCosts
+    )
+    {
+        this.vertices = vertices;
+        this.outOffsets = outOffsets;
+        this.outTargets = outTargets;
+        this.outCosts = outCosts;
+        this.inOffsets = inOffsets;
+        this.inSources = inSources;
+        this.inCosts = inCosts;
+    }
+
+    @Override
+    public int vertexAt(int index)
+    {
+        return vertices.get(index);
+    }
+
+    @Override
+    public int outEdgesStart(int index)
+    {
+        return outOffsets.get(index);
+    }
+
+    @Override
+    public int outEdgesEnd(int index)
+    {
+        return outOffsets.get(index + 1);
+    }
+
+    @Override
+    public int outTarget(int edge)
+    {
+        return outTargets.get(edge);
+    }
+
+    @Override
+    public int outCost(int edge)
+    {
+        return outCosts.get(edge);
+    }
+
+    @Override
+    public int inEdgesStart(int index)
+    {
+        return inOffsets.get(index);
+    }
+
+    @Override
+    public int inEdgesEnd(int index)
+    {
+        return inOffsets.get(index + 1);
+    }
+
+    @Override
+    public int inSource(int edge)
+    {
+        return inSources.get(edge);
+    }
+
+    @Override
+    public int inCost(int edge)
+    {
+        return inCosts.get(edge);
+    }
+
+    /**
+     * Get the number of vertices of the graph
+     * @return The number of vertices
+     */
+    @Override
+    public int getNumberOfVertices()
+    {
+        return vertices.limit();
+    }
+
+    /**
+     * Gets the number of edges of the graph
+     * @return THe number of edges
+     */
+    @Override
+    public int getNumberOfEdges()
+    {
+        return outTargets.limit();
+    }
+}
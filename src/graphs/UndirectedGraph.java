@@ -1,6 +1,9 @@
 package graphs;
 
+import graphs.collections.LongIntHashMap;
 import graphs.exceptions.*;
+import graphs.storage.AdjacencyStorage;
+import graphs.storage.StorageType;
 
 import java.util.*;
 
@@ -9,23 +12,42 @@ import java.util.*;
  */
 public class UndirectedGraph implements Graph
 {
+    /**
+     * The storage engine used for the adjacency lists
+     */
+    protected final StorageType storageType;
     /**
      * Maps the vertices to a list of their neighbour vertices
      */
-    protected Map<Integer, List<Integer>> neighbours;
+    protected AdjacencyStorage neighbours;
+
+    /**
+     * Maps the edges, packed with EdgeKey, to their associated cost
+     */
+    protected LongIntHashMap edges;
 
     /**
-     * Maps the edges to their associated cost
+     * The connectivity index kept up to date by the changes of the graph, null if it is not enabled
      */
-    protected Map<OrderedVertexPair, Integer> edges;
+    protected ConnectivityIndex connectivityIndex;
 
     /**
      * Creates an empty graph
      */
     public UndirectedGraph()
     {
-        neighbours = new HashMap<>();
-        edges = new HashMap<>();
+        this(StorageType.LIST);
+    }
+
+    /**
+     * Creates an empty graph
+     * @param storageType The storage engine to be used for the adjacency lists
+     */
+    public UndirectedGraph(StorageType storageType)
+    {
+        this.storageType = storageType;
+        neighbours = storageType.createStorage(0);
+        edges = new LongIntHashMap();
     }
 
     /**
@@ -35,8 +57,20 @@ public class UndirectedGraph implements Graph
      */
     public UndirectedGraph(int initialVertexNumber, int initialEdgeNumber)
     {
-        neighbours = new HashMap<>(initialVertexNumber);
-        edges = new HashMap<>(initialEdgeNumber);
+        this(initialVertexNumber, initialEdgeNumber, StorageType.LIST);
+    }
+
+    /**
+     * Creates a graph with the specified number of vertices
+     * @param initialVertexNumber Initial number of vertices of the graph
+     * @param initialEdgeNumber The space to allocate for the edges of the graph
+     * @param storageType The storage engine to be used for the adjacency lists
+     */
+    public UndirectedGraph(int initialVertexNumber, int initialEdgeNumber, StorageType storageType)
+    {
+        this.storageType = storageType;
+        neighbours = storageType.createStorage(initialVertexNumber);
+        edges = new LongIntHashMap(initialEdgeNumber);
 
         for (int i = 0; i < initialVertexNumber; i++)
         {
@@ -51,7 +85,7 @@ public class UndirectedGraph implements Graph
     @Override
     public int getNumberOfVertices()
     {
-        return neighbours.size();
+        return neighbours.getNumberOfVertices();
     }
 
     /**
@@ -77,7 +111,7 @@ public class UndirectedGraph implements Graph
             throw new VertexDoesNotExistException();
         }
 
-        return neighbours.get(vertex).size();
+        return neighbours.degree(vertex);
     }
 
     /**
@@ -91,7 +125,7 @@ public class UndirectedGraph implements Graph
         {
             throw new VertexDoesNotExistException();
         }
-        return Collections.unmodifiableList(neighbours.get(vertex));
+        return neighbours.neighbours(vertex);
     }
 
     /**
@@ -101,7 +135,7 @@ public class UndirectedGraph implements Graph
     @Override
     public Iterable<Integer> parseVertices()
     {
-        return Collections.unmodifiableSet(neighbours.keySet());
+        return neighbours.vertices();
     }
 
     /**
@@ -113,7 +147,7 @@ public class UndirectedGraph implements Graph
     @Override
     public boolean existsEdge(int vertex1, int vertex2)
     {
-        return edges.containsKey(new OrderedVertexPair(vertex1, vertex2));
+        return edges.containsKey(EdgeKey.ofUnordered(vertex1, vertex2));
     }
 
     /**
@@ -125,11 +159,12 @@ public class UndirectedGraph implements Graph
     @Override
     public int getCost(int vertex1, int vertex2)
     {
-        if (!existsEdge(vertex1, vertex2))
+        int index = edges.indexOf(EdgeKey.ofUnordered(vertex1, vertex2));
+        if (index < 0)
         {
             throw new EdgeDoesNotExistException();
         }
-        return edges.get(new OrderedVertexPair(vertex1, vertex2));
+        return edges.indexGet(index);
     }
 
     /**
@@ -141,11 +176,12 @@ public class UndirectedGraph implements Graph
     @Override
     public void changeCost(int vertex1, int vertex2, int newCost)
     {
-        if (!existsEdge(vertex1, vertex2))
+        int index = edges.indexOf(EdgeKey.ofUnordered(vertex1, vertex2));
+        if (index < 0)
         {
             throw new EdgeDoesNotExistException();
         }
-        edges.put(new OrderedVertexPair(vertex1, vertex2), newCost);
+        edges.indexReplace(index, newCost);
     }
 
     /**
@@ -159,7 +195,11 @@ public class UndirectedGraph implements Graph
         {
             throw new VertexAlreadyExistsException();
         }
-        neighbours.put(vertex, new ArrayList<>());
+        neighbours.addVertex(vertex);
+        if (connectivityIndex != null)
+        {
+            connectivityIndex.vertexAdded(vertex);
+        }
     }
 
     /**
@@ -169,7 +209,7 @@ public class UndirectedGraph implements Graph
      */
     public boolean existsVertex(int vertex)
     {
-        return neighbours.containsKey(vertex);
+        return neighbours.containsVertex(vertex);
     }
 
     /**
@@ -184,13 +224,17 @@ public class UndirectedGraph implements Graph
             throw new VertexDoesNotExistException();
         }
 
-        List<Integer> inEdgesList = neighbours.get(vertex);
-        while (!inEdgesList.isEmpty())
+        // the list of the removed vertex is dropped at once, only the lists of its neighbours are updated
+        for (int vertex1 : neighbours.neighbours(vertex))
+        {
+            neighbours.removeNeighbour(vertex1, vertex);
+            edges.remove(EdgeKey.ofUnordered(vertex1, vertex));
+        }
+        neighbours.removeVertex(vertex);
+        if (connectivityIndex != null)
         {
-            int vertex1 = inEdgesList.get(0);
-            removeEdge(vertex1, vertex);
+            connectivityIndex.vertexRemoved(vertex);
         }
-        neighbours.remove(vertex);
     }
 
     /**
@@ -218,9 +262,74 @@ public class UndirectedGraph implements Graph
         {
             throw new EdgeAlreadyExistsException();
         }
-        neighbours.get(vertex2).add(vertex1);
-        neighbours.get(vertex1).add(vertex2);
-        edges.put(new OrderedVertexPair(vertex1, vertex2), cost);
+        neighbours.addNeighbour(vertex2, vertex1);
+        neighbours.addNeighbour(vertex1, vertex2);
+        edges.put(EdgeKey.ofUnordered(vertex1, vertex2), cost);
+        if (connectivityIndex != null)
+        {
+            connectivityIndex.edgeAdded(vertex1, vertex2);
+        }
+    }
+
+    /**
+     * Adds a batch of edges to the graph; duplicate edges and loops are handled by the policy instead of throwing.
+     * The loops are never added
+     * @param vertices1 The first vertices of the edges
+     * @param vertices2 The second vertices of the edges
+     * @param costs The costs of the edges
+     * @param policy Decides what happens to the edges which already exist
+     * @return The summary of the insertion
+     * @throws VertexDoesNotExistException if an edge has a vertex which is not in the graph; nothing is inserted then
+     */
+    public BulkInsertResult addEdges(int[] vertices1, int[] vertices2, int[] costs, DuplicatePolicy policy)
+    {
+        if (vertices1.length != vertices2.length || vertices1.length != costs.length)
+        {
+            throw new IllegalArgumentException("The edge arrays must have the same length");
+        }
+        long[] keys = new long[vertices1.length];
+        boolean[] loops = new boolean[vertices1.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            if (!existsVertex(vertices1[i]) || !existsVertex(vertices2[i]))
+            {
+                throw new VertexDoesNotExistException();
+            }
+            keys[i] = EdgeKey.ofUnordered(vertices1[i], vertices2[i]);
+            loops[i] = vertices1[i] == vertices2[i];
+        }
+        EdgeBatch batch = new EdgeBatch(keys, loops, edges, policy);
+        if (batch.isRejected(policy))
+        {
+            return new BulkInsertResult(0, 0, keys.length, true);
+        }
+        edges.ensureCapacity(edges.size() + batch.size);
+        batch.reserveNeighbours(neighbours, vertices1, vertices2);
+
+        int added = 0;
+        int updated = 0;
+        for (int j = 0; j < batch.size; j++)
+        {
+            int i = batch.positions[j];
+            int index = edges.indexOf(keys[i]);
+            if (index >= 0)
+            {
+                edges.indexReplace(index, costs[i]);
+                updated++;
+            }
+            else
+            {
+                neighbours.addNeighbour(vertices2[i], vertices1[i]);
+                neighbours.addNeighbour(vertices1[i], vertices2[i]);
+                edges.put(keys[i], costs[i]);
+                if (connectivityIndex != null)
+                {
+                    connectivityIndex.edgeAdded(vertices1[i], vertices2[i]);
+                }
+                added++;
+            }
+        }
+        return new BulkInsertResult(added, updated, keys.length - added - updated, false);
     }
 
     /**
@@ -244,9 +353,35 @@ public class UndirectedGraph implements Graph
             throw new EdgeDoesNotExistException();
         }
 
-        neighbours.get(vertex2).remove(Integer.valueOf(vertex1));
-        neighbours.get(vertex1).remove(Integer.valueOf(vertex2));
-        edges.remove(new OrderedVertexPair(vertex1, vertex2));
+        neighbours.removeNeighbour(vertex2, vertex1);
+        neighbours.removeNeighbour(vertex1, vertex2);
+        edges.remove(EdgeKey.ofUnordered(vertex1, vertex2));
+        if (connectivityIndex != null)
+        {
+            connectivityIndex.edgeRemoved(vertex1, vertex2);
+        }
+    }
+
+    /**
+     * Attaches a connectivity index to the graph, which answers connectivity queries without a traversal
+     * and is kept up to date by every later change of the graph; copies of the graph do not have it
+     * @return The index of the graph, the existing one if it was already enabled
+     */
+    public ConnectivityIndex enableConnectivityIndex()
+    {
+        if (connectivityIndex == null)
+        {
+            connectivityIndex = new ConnectivityIndex(this);
+        }
+        return connectivityIndex;
+    }
+
+    /**
+     * Detaches the connectivity index, so the changes of the graph no longer pay for its upkeep
+     */
+    public void disableConnectivityIndex()
+    {
+        connectivityIndex = null;
     }
 
     /**
@@ -256,7 +391,43 @@ public class UndirectedGraph implements Graph
     @Override
     public Iterable<OrderedVertexPair> parseEdges()
     {
-        return Collections.unmodifiableSet(edges.keySet());
+        return () -> new Iterator<OrderedVertexPair>()
+        {
+            private final LongIntHashMap.Cursor cursor = edges.cursor();
+            private boolean hasNext = cursor.next();
+
+            @Override
+            public boolean hasNext()
+            {
+                return hasNext;
+            }
+
+            @Override
+            public OrderedVertexPair next()
+            {
+                if (!hasNext)
+                {
+                    throw new NoSuchElementException();
+                }
+                long key = cursor.key();
+                hasNext = cursor.next();
+                return new OrderedVertexPair(EdgeKey.vertex1(key), EdgeKey.vertex2(key));
+            }
+        };
+    }
+
+    /**
+     * Passes every edge of the graph, together with its cost, to the specified consumer
+     * @param consumer The consumer of the edges
+     */
+    @Override
+    public void forEachEdge(EdgeConsumer consumer)
+    {
+        LongIntHashMap.Cursor cursor = edges.cursor();
+        while (cursor.next())
+        {
+            consumer.accept(EdgeKey.vertex1(cursor.key()), EdgeKey.vertex2(cursor.key()), cursor.value());
+        }
     }
 
     /**
@@ -266,14 +437,15 @@ public class UndirectedGraph implements Graph
     @Override
     public UndirectedGraph copy()
     {
-        UndirectedGraph newGraph = new UndirectedGraph();
-        for (Integer vertex : neighbours.keySet())
+        UndirectedGraph newGraph = new UndirectedGraph(0, edges.size(), storageType);
+        for (int vertex : neighbours.vertices())
         {
             newGraph.addVertex(vertex);
         }
-        for (OrderedVertexPair edge : edges.keySet())
+        LongIntHashMap.Cursor cursor = edges.cursor();
+        while (cursor.next())
         {
-            newGraph.addEdge(edge.getVertex1(), edge.getVertex2(), edges.get(edge));
+            newGraph.addEdge(EdgeKey.vertex1(cursor.key()), EdgeKey.vertex2(cursor.key()), cursor.value());
         }
         return newGraph;
     }
@@ -0,0 +1,150 @@
+package graphs.algorithms;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Connected components with the Afforest algorithm, on several threads.
+ * Every vertex points to a vertex of its component with a smaller or equal index, forming trees which are linked
+ * with compare-and-set. The first few edges of every vertex are linked first, which usually joins most of the
+ * vertices into one giant component; its vertices then skip their remaining edges, since the other end of every
+ * such edge is either in the giant component already or links itself through the same edge in the other direction
+ */
+class Afforest
+{
+    /**
+     * The number of edges of every vertex linked before the giant component is looked for
+     */
+    private static final int NEIGHBOUR_ROUNDS = 2;
+    /**
+     * The number of vertices sampled to find the giant component
+     */
+    private static final int SAMPLES = 1024;
+
+    /**
+     * Computes the connected components of an undirected graph given in compressed sparse row form,
+     * where every edge appears in the rows of both its vertices
+     * @param starts The edges of vertex i are at neighbours[starts[i]..starts[i + 1])
+     * @param neighbours The other vertex of every edge
+     * @param pool The pool where the edges are linked
+     * @return The root of the component of every vertex, the same for all the vertices of a component
+     */
+    static int[] roots(int[] starts, int[] neighbours, ForkJoinPool pool)
+    {
+        int vertexNumber = starts.length - 1;
+        AtomicIntegerArray parents = new AtomicIntegerArray(vertexNumber);
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            parents.set(index, index);
+        }
+        for (int round = 0; round < NEIGHBOUR_ROUNDS; round++)
+        {
+            int position = round;
+            pool.submit(() -> IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+            {
+                if (starts[index] + position < starts[index + 1])
+                {
+                    link(parents, index, neighbours[starts[index] + position]);
+                }
+            })).join();
+            compress(parents, pool);
+        }
+
+        int giant = sampleGiantComponent(parents);
+        pool.submit(() -> IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+        {
+            if (parents.get(index) == giant)
+            {
+                return;
+            }
+            for (int edge = starts[index] + NEIGHBOUR_ROUNDS; edge < starts[index + 1]; edge++)
+            {
+                link(parents, index, neighbours[edge]);
+            }
+        })).join();
+        compress(parents, pool);
+
+        int[] roots = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            roots[index] = parents.get(index);
+        }
+        return roots;
+    }
+
+    /**
+     * Joins the trees of the two vertices, hanging the tree with the greater root under the other root
+     */
+    private static void link(AtomicIntegerArray parents, int index1, int index2)
+    {
+        int parent1 = parents.get(index1);
+        int parent2 = parents.get(index2);
+        while (parent1 != parent2)
+        {
+            int high = Math.max(parent1, parent2);
+            int low = Math.min(parent1, parent2);
+            int highParent = parents.get(high);
+            if (highParent == low)
+            {
+                return;
+            }
+            if (highParent == high && parents.compareAndSet(high, high, low))
+            {
+                return;
+            }
+            // another thread moved the greater root, so both sides are followed up again
+            parent1 = parents.get(parents.get(high));
+            parent2 = parents.get(low);
+        }
+    }
+
+    /**
+     * Points every vertex directly to the root of its tree
+     */
+    private static void compress(AtomicIntegerArray parents, ForkJoinPool pool)
+    {
+        pool.submit(() -> IntStream.range(0, parents.length()).parallel().forEach((index) ->
+        {
+            int parent = parents.get(index);
+            while (parent != parents.get(parent))
+            {
+                parent = parents.get(parent);
+            }
+            parents.set(index, parent);
+        })).join();
+    }
+
+    /**
+     * Finds the most frequent root among a sample of the vertices
+     */
+    private static int sampleGiantComponent(AtomicIntegerArray parents)
+    {
+        int vertexNumber = parents.length();
+        if (vertexNumber == 0)
+        {
+            return -1;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] sample = new int[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            sample[i] = parents.get(random.nextInt(vertexNumber));
+        }
+        Arrays.sort(sample);
+        int giant = sample[0];
+        int giantCount = 0;
+        for (int i = 0, count = 0; i < SAMPLES; i++)
+        {
+            count = i > 0 && sample[i] == sample[i - 1] ? count + 1 : 1;
+            if (count > giantCount)
+            {
+                giant = sample[i];
+                giantCount = count;
+            }
+        }
+        return giant;
+    }
+}
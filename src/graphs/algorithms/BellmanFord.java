@@ -0,0 +1,287 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Lowest cost walks with the queue based Bellman-Ford algorithm, on the compressed form of a graph.
+ * Only the vertices whose cost changed are relaxed again, the search ends once no cost changes,
+ * and the memory used is linear in the number of vertices. Negative costs are allowed.
+ * The parallel form pulls the costs of every vertex from its inbound edges, level by level
+ */
+public class BellmanFord
+{
+    /**
+     * The number of parts the vertices are split into for every thread of the pool
+     */
+    private static final int TASKS_PER_THREAD = 4;
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the graph
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * or null if there are negative cost cycles reachable from the startingVertex
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public static Traversal.DTOCostWalk lowestCostWalk(
+            AbstractCompressedDirectedGraph graph,
+            int startVertex,
+            int targetVertex
+    )
+    {
+        int start = graph.indexOf(startVertex);
+        int target = graph.indexOf(targetVertex);
+        if (start < 0 || target < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] distances = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        if (!search(graph, start, distances, parents))
+        {
+            return null;
+        }
+        if (distances[target] == Dijkstra.INFINITY)
+        {
+            return new Traversal.DTOCostWalk(Dijkstra.INFINITY, new ArrayList<>());
+        }
+        return new Traversal.DTOCostWalk(distances[target], Dijkstra.walk(graph, parents, target));
+    }
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the graph,
+     * relaxing the vertices of every level at the same time on the pool
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * or null if there are negative cost cycles reachable from the startingVertex
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public static Traversal.DTOCostWalk lowestCostWalk(
+            AbstractCompressedDirectedGraph graph,
+            int startVertex,
+            int targetVertex,
+            ForkJoinPool pool
+    )
+    {
+        int start = graph.indexOf(startVertex);
+        int target = graph.indexOf(targetVertex);
+        if (start < 0 || target < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] distances = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        if (!searchParallel(graph, start, distances, parents, pool))
+        {
+            return null;
+        }
+        if (distances[target] == Dijkstra.INFINITY)
+        {
+            return new Traversal.DTOCostWalk(Dijkstra.INFINITY, new ArrayList<>());
+        }
+        return new Traversal.DTOCostWalk(distances[target], Dijkstra.walk(graph, parents, target));
+    }
+
+    /**
+     * Computes the lowest costs from the start vertex to every vertex
+     * @param graph The graph
+     * @param start The index of the start vertex
+     * @param distances Receives the lowest cost of every vertex, Dijkstra.INFINITY for the unreachable ones
+     * @param parents Receives the index of the previous vertex on the lowest cost walk of every reached vertex
+     * @return false if a negative cost cycle is reachable from the start vertex, true otherwise
+     */
+    static boolean search(AbstractCompressedDirectedGraph graph, int start, long[] distances, int[] parents)
+    {
+        int vertexNumber = distances.length;
+        Arrays.fill(distances, Dijkstra.INFINITY);
+        Arrays.fill(parents, Dijkstra.NO_PARENT);
+        distances[start] = 0;
+        int[] queue = new int[vertexNumber];
+        queue[0] = start;
+        return relax(graph, distances, parents, queue, 1);
+    }
+
+    /**
+     * Computes the lowest costs from the start vertex to every vertex, level by level: after level k every vertex
+     * has the cost of its lowest cost walk of at most k edges, pulled from the costs of level k - 1 of the sources
+     * of its inbound edges. The levels are kept in two arrays used in turns, every level is split among the tasks
+     * of the pool, and the search ends at the first level which changes no cost
+     * @param pool The pool where the levels are computed
+     * @return false if a negative cost cycle is reachable from the start vertex, true otherwise
+     * @see #search(AbstractCompressedDirectedGraph, int, long[], int[])
+     */
+    static boolean searchParallel(
+            AbstractCompressedDirectedGraph graph,
+            int start,
+            long[] distances,
+            int[] parents,
+            ForkJoinPool pool
+    )
+    {
+        int vertexNumber = distances.length;
+        long[] previous = new long[vertexNumber];
+        long[] current = distances;
+        Arrays.fill(current, Dijkstra.INFINITY);
+        Arrays.fill(parents, Dijkstra.NO_PARENT);
+        current[start] = 0;
+        int taskNumber = Math.min(pool.getParallelism() * TASKS_PER_THREAD, Math.max(vertexNumber, 1));
+        boolean[] changed = new boolean[taskNumber];
+        // a walk of vertexNumber edges repeats a vertex, so it can only be cheaper than the shorter walks
+        // if it goes around a negative cycle
+        for (int level = 1; level <= vertexNumber; level++)
+        {
+            long[] sources = current;
+            long[] targets = previous;
+            pool.submit(() -> IntStream.range(0, taskNumber).parallel().forEach((task) ->
+                    changed[task] = pullLevel(
+                            graph,
+                            sources,
+                            targets,
+                            parents,
+                            (int) ((long) vertexNumber * task / taskNumber),
+                            (int) ((long) vertexNumber * (task + 1) / taskNumber)
+                    )
+            )).join();
+            previous = sources;
+            current = targets;
+            boolean anyChanged = false;
+            for (int task = 0; task < taskNumber; task++)
+            {
+                anyChanged |= changed[task];
+            }
+            if (!anyChanged)
+            {
+                if (current != distances)
+                {
+                    System.arraycopy(current, 0, distances, 0, vertexNumber);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Computes the costs of the next level for a range of vertices
+     * @param previous The costs of the previous level, only read
+     * @param next Receives the costs of the next level for the vertices of the range
+     * @return true if the cost of any vertex of the range changed
+     */
+    private static boolean pullLevel(
+            AbstractCompressedDirectedGraph graph,
+            long[] previous,
+            long[] next,
+            int[] parents,
+            int from,
+            int to
+    )
+    {
+        boolean changed = false;
+        for (int index = from; index < to; index++)
+        {
+            long distance = previous[index];
+            int end = graph.inEdgesEnd(index);
+            for (int edge = graph.inEdgesStart(index); edge < end; edge++)
+            {
+                long sourceDistance = previous[graph.inSource(edge)];
+                if (sourceDistance != Dijkstra.INFINITY && sourceDistance + graph.inCost(edge) < distance)
+                {
+                    distance = sourceDistance + graph.inCost(edge);
+                    parents[index] = graph.inSource(edge);
+                    changed = true;
+                }
+            }
+            next[index] = distance;
+        }
+        return changed;
+    }
+
+    /**
+     * Computes vertex potentials which make every reweighted cost cost + potentials[u] - potentials[v]
+     * non-negative: the lowest cost of every vertex from a virtual vertex with an edge of cost 0 to every vertex
+     * @param graph The graph
+     * @return The potential of every vertex, or null if the graph has a negative cost cycle
+     */
+    static long[] potentials(AbstractCompressedDirectedGraph graph)
+    {
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] potentials = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        Arrays.fill(parents, Dijkstra.NO_PARENT);
+        int[] queue = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            queue[index] = index;
+        }
+        return relax(graph, potentials, parents, queue, vertexNumber) ? potentials : null;
+    }
+
+    /**
+     * Relaxes the outbound edges of the queued vertices until no cost changes
+     * @param queue Circular queue of vertexNumber slots, holding the vertices whose cost is already set
+     * @param size The number of queued vertices, at the start of the queue
+     * @return false if a negative cost cycle is found, true otherwise
+     */
+    private static boolean relax(
+            AbstractCompressedDirectedGraph graph,
+            long[] distances,
+            int[] parents,
+            int[] queue,
+            int size
+    )
+    {
+        int vertexNumber = distances.length;
+        // the number of edges of the current walk of every vertex; a walk of vertexNumber edges repeats a vertex,
+        // so it can only be cheaper than the shorter walks if it goes around a negative cycle
+        int[] walkLengths = new int[vertexNumber];
+        // every vertex is in the queue at most once, so vertexNumber slots are enough
+        boolean[] queued = new boolean[vertexNumber];
+        for (int i = 0; i < size; i++)
+        {
+            queued[queue[i]] = true;
+        }
+        int head = 0;
+        while (size > 0)
+        {
+            int index = queue[head];
+            head = head + 1 == vertexNumber ? 0 : head + 1;
+            size--;
+            queued[index] = false;
+
+            long distance = distances[index];
+            int end = graph.outEdgesEnd(index);
+            for (int edge = graph.outEdgesStart(index); edge < end; edge++)
+            {
+                int neighbour = graph.outTarget(edge);
+                long newDistance = distance + graph.outCost(edge);
+                if (newDistance < distances[neighbour])
+                {
+                    distances[neighbour] = newDistance;
+                    parents[neighbour] = index;
+                    walkLengths[neighbour] = walkLengths[index] + 1;
+                    if (walkLengths[neighbour] >= vertexNumber)
+                    {
+                        return false;
+                    }
+                    if (!queued[neighbour])
+                    {
+                        int tail = head + size < vertexNumber ? head + size : head + size - vertexNumber;
+                        queue[tail] = neighbour;
+                        queued[neighbour] = true;
+                        size++;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
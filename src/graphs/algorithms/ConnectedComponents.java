@@ -0,0 +1,388 @@
+package graphs.algorithms;
+
+import graphs.DuplicatePolicy;
+import graphs.UndirectedGraph;
+import graphs.collections.IntArrayList;
+import graphs.collections.IntIntHashMap;
+import graphs.collections.UnionFind;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The connected components of an undirected graph, as a component number for every vertex.
+ * The components are numbered from 0, in the order of their first vertex in the graph.
+ * The subgraph of a component is only built when it is asked for; it reflects the graph at that time,
+ * so the graph should not change in between
+ */
+public class ConnectedComponents
+{
+    private static final int MISSING = -1;
+
+    private final UndirectedGraph graph;
+    /**
+     * The index of every vertex
+     */
+    private final IntIntHashMap indices;
+    /**
+     * The component of every vertex index
+     */
+    private final int[] components;
+    /**
+     * The vertices of component c are componentVertices[componentStarts[c]..componentStarts[c + 1]),
+     * in the order of the graph
+     */
+    private final int[] componentStarts;
+    private final int[] componentVertices;
+    /**
+     * The subgraphs built so far
+     */
+    private final UndirectedGraph[] subgraphs;
+
+    private ConnectedComponents(
+            UndirectedGraph graph,
+            IntIntHashMap indices,
+            int[] components,
+            int[] componentStarts,
+            int[] componentVertices
+    )
+    {
+        this.graph = graph;
+        this.indices = indices;
+        this.components = components;
+        this.componentStarts = componentStarts;
+        this.componentVertices = componentVertices;
+        this.subgraphs = new UndirectedGraph[componentStarts.length - 1];
+    }
+
+    /**
+     * Computes the connected components of the graph by merging the ends of every edge in a union-find
+     * @param undirectedGraph The graph
+     * @return The components
+     */
+    public static ConnectedComponents of(UndirectedGraph undirectedGraph)
+    {
+        int vertexNumber = undirectedGraph.getNumberOfVertices();
+        int[] vertices = new int[vertexNumber];
+        IntIntHashMap indices = indexVertices(undirectedGraph, vertices);
+        UnionFind unionFind = new UnionFind(vertexNumber);
+        undirectedGraph.forEachEdge((vertex1, vertex2, cost) ->
+                unionFind.union(indices.get(vertex1, MISSING), indices.get(vertex2, MISSING))
+        );
+        int[] roots = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            roots[index] = unionFind.find(index);
+        }
+        return fromRoots(undirectedGraph, indices, vertices, roots, unionFind.getNumberOfSets());
+    }
+
+    /**
+     * Computes the connected components of the graph on the common ForkJoinPool
+     * @see #ofParallel(UndirectedGraph, ForkJoinPool)
+     */
+    public static ConnectedComponents ofParallel(UndirectedGraph undirectedGraph)
+    {
+        return ofParallel(undirectedGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the connected components of the graph with the Afforest algorithm, linking the edges on the pool.
+     * The edges are read once into compressed sparse row form; the components and their numbers are the same as
+     * the ones computed by of
+     * @param undirectedGraph The graph
+     * @param pool The pool where the edges are linked
+     * @return The components
+     */
+    public static ConnectedComponents ofParallel(UndirectedGraph undirectedGraph, ForkJoinPool pool)
+    {
+        int vertexNumber = undirectedGraph.getNumberOfVertices();
+        int[] vertices = new int[vertexNumber];
+        IntIntHashMap indices = indexVertices(undirectedGraph, vertices);
+        int edgeNumber = undirectedGraph.getNumberOfEdges();
+        int[] indices1 = new int[edgeNumber];
+        int[] indices2 = new int[edgeNumber];
+        int[] starts = new int[vertexNumber + 1];
+        int[] edge = {0};
+        undirectedGraph.forEachEdge((vertex1, vertex2, cost) ->
+        {
+            int index1 = indices.get(vertex1, MISSING);
+            int index2 = indices.get(vertex2, MISSING);
+            indices1[edge[0]] = index1;
+            indices2[edge[0]] = index2;
+            edge[0]++;
+            starts[index1 + 1]++;
+            starts[index2 + 1]++;
+        });
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            starts[index + 1] += starts[index];
+        }
+        // every edge is in the rows of both its vertices
+        int[] neighbours = new int[2 * edgeNumber];
+        int[] fill = Arrays.copyOf(starts, vertexNumber);
+        for (int i = 0; i < edgeNumber; i++)
+        {
+            neighbours[fill[indices1[i]]++] = indices2[i];
+            neighbours[fill[indices2[i]]++] = indices1[i];
+        }
+
+        int[] roots = Afforest.roots(starts, neighbours, pool);
+        int componentNumber = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            if (roots[index] == index)
+            {
+                componentNumber++;
+            }
+        }
+        return fromRoots(undirectedGraph, indices, vertices, roots, componentNumber);
+    }
+
+    /**
+     * Numbers the vertices of the graph in the order they are parsed
+     * @param vertices Receives the vertex of every index
+     * @return The index of every vertex
+     */
+    private static IntIntHashMap indexVertices(UndirectedGraph undirectedGraph, int[] vertices)
+    {
+        IntIntHashMap indices = new IntIntHashMap(vertices.length);
+        int index = 0;
+        for (int vertex : undirectedGraph.parseVertices())
+        {
+            vertices[index] = vertex;
+            indices.put(vertex, index);
+            index++;
+        }
+        return indices;
+    }
+
+    /**
+     * Numbers the components in the order of their first vertex and groups the vertices by component
+     * @param roots The index of a vertex representing the component of every vertex index
+     * @param componentNumber The number of distinct roots
+     */
+    private static ConnectedComponents fromRoots(
+            UndirectedGraph undirectedGraph,
+            IntIntHashMap indices,
+            int[] vertices,
+            int[] roots,
+            int componentNumber
+    )
+    {
+        int vertexNumber = vertices.length;
+        // the number of every root, from 1 so that 0 marks the roots not numbered yet
+        int[] rootComponents = new int[vertexNumber];
+        int[] components = new int[vertexNumber];
+        int[] componentStarts = new int[componentNumber + 1];
+        int nextComponent = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            int root = roots[index];
+            if (rootComponents[root] == 0)
+            {
+                rootComponents[root] = ++nextComponent;
+            }
+            components[index] = rootComponents[root] - 1;
+            componentStarts[components[index] + 1]++;
+        }
+        for (int component = 0; component < componentNumber; component++)
+        {
+            componentStarts[component + 1] += componentStarts[component];
+        }
+        int[] componentVertices = new int[vertexNumber];
+        int[] fill = new int[componentNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            int component = components[index];
+            componentVertices[componentStarts[component] + fill[component]++] = vertices[index];
+        }
+        return new ConnectedComponents(undirectedGraph, indices, components, componentStarts, componentVertices);
+    }
+
+    /**
+     * Gets the number of connected components
+     */
+    public int getNumberOfComponents()
+    {
+        return subgraphs.length;
+    }
+
+    /**
+     * Gets the component of the specified vertex
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getComponent(int vertex)
+    {
+        return components[indexOf(vertex)];
+    }
+
+    /**
+     * Checks if there is a walk between the two vertices
+     * @throws VertexDoesNotExistException if one of the vertices is not in the graph
+     */
+    public boolean areConnected(int vertex1, int vertex2)
+    {
+        return getComponent(vertex1) == getComponent(vertex2);
+    }
+
+    /**
+     * Gets the number of vertices of the specified component
+     * @throws IndexOutOfBoundsException if there is no such component
+     */
+    public int getSize(int component)
+    {
+        checkComponent(component);
+        return componentStarts[component + 1] - componentStarts[component];
+    }
+
+    /**
+     * Gets the number of vertices of every component
+     */
+    public int[] getSizes()
+    {
+        int[] sizes = new int[subgraphs.length];
+        for (int component = 0; component < sizes.length; component++)
+        {
+            sizes[component] = componentStarts[component + 1] - componentStarts[component];
+        }
+        return sizes;
+    }
+
+    /**
+     * Gets the vertices of the specified component, in the order of the graph
+     * @throws IndexOutOfBoundsException if there is no such component
+     */
+    public List<Integer> getVertices(int component)
+    {
+        checkComponent(component);
+        List<Integer> vertices = new ArrayList<>(getSize(component));
+        for (int i = componentStarts[component]; i < componentStarts[component + 1]; i++)
+        {
+            vertices.add(componentVertices[i]);
+        }
+        return vertices;
+    }
+
+    /**
+     * Gets the subgraph of the specified component, building it the first time it is asked for
+     * @throws IndexOutOfBoundsException if there is no such component
+     */
+    public UndirectedGraph getGraph(int component)
+    {
+        checkComponent(component);
+        if (subgraphs[component] == null)
+        {
+            UndirectedGraph subgraph = newSubgraph(component);
+            IntArrayList vertices1 = new IntArrayList();
+            IntArrayList vertices2 = new IntArrayList();
+            IntArrayList costs = new IntArrayList();
+            for (int i = componentStarts[component]; i < componentStarts[component + 1]; i++)
+            {
+                int vertex = componentVertices[i];
+                for (int neighbour : graph.parseAdjacentEdges(vertex))
+                {
+                    if (vertex < neighbour)
+                    {
+                        vertices1.add(vertex);
+                        vertices2.add(neighbour);
+                        costs.add(graph.getCost(vertex, neighbour));
+                    }
+                }
+            }
+            subgraph.addEdges(vertices1.toArray(), vertices2.toArray(), costs.toArray(), DuplicatePolicy.SKIP);
+            subgraphs[component] = subgraph;
+        }
+        return subgraphs[component];
+    }
+
+    /**
+     * Gets the subgraphs of all the components, building the missing ones in a single pass over the edges
+     */
+    public List<UndirectedGraph> getGraphs()
+    {
+        int componentNumber = subgraphs.length;
+        // the edges of every missing component, collected so each component receives them in a single batch
+        IntArrayList[] vertices1 = new IntArrayList[componentNumber];
+        IntArrayList[] vertices2 = new IntArrayList[componentNumber];
+        IntArrayList[] costs = new IntArrayList[componentNumber];
+        boolean missing = false;
+        for (int component = 0; component < componentNumber; component++)
+        {
+            if (subgraphs[component] == null)
+            {
+                vertices1[component] = new IntArrayList();
+                vertices2[component] = new IntArrayList();
+                costs[component] = new IntArrayList();
+                missing = true;
+            }
+        }
+        if (missing)
+        {
+            graph.forEachEdge((vertex1, vertex2, cost) ->
+            {
+                int component = getComponent(vertex1);
+                if (vertices1[component] != null)
+                {
+                    vertices1[component].add(vertex1);
+                    vertices2[component].add(vertex2);
+                    costs[component].add(cost);
+                }
+            });
+            for (int component = 0; component < componentNumber; component++)
+            {
+                if (subgraphs[component] == null)
+                {
+                    UndirectedGraph subgraph = newSubgraph(component);
+                    subgraph.addEdges(
+                            vertices1[component].toArray(),
+                            vertices2[component].toArray(),
+                            costs[component].toArray(),
+                            DuplicatePolicy.SKIP
+                    );
+                    subgraphs[component] = subgraph;
+                }
+            }
+        }
+        List<UndirectedGraph> graphs = new ArrayList<>(componentNumber);
+        for (UndirectedGraph subgraph : subgraphs)
+        {
+            graphs.add(subgraph);
+        }
+        return graphs;
+    }
+
+    /**
+     * Creates a graph with the vertices of the component and no edges
+     */
+    private UndirectedGraph newSubgraph(int component)
+    {
+        UndirectedGraph subgraph = new UndirectedGraph();
+        for (int i = componentStarts[component]; i < componentStarts[component + 1]; i++)
+        {
+            subgraph.addVertex(componentVertices[i]);
+        }
+        return subgraph;
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = indices.get(vertex, MISSING);
+        if (index == MISSING)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+
+    private void checkComponent(int component)
+    {
+        if (component < 0 || component >= subgraphs.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,784 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.collections.IndexedLongMinHeap;
+import graphs.collections.IntArrayList;
+import graphs.exceptions.NegativeCostException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Point to point lowest cost walks on a contraction hierarchy.
+ * The vertices are contracted one after another: a contracted vertex is removed from the graph and replaced by
+ * shortcut edges between its neighbours, unless a witness walk avoiding it is at most as cheap. A query then runs
+ * two Dijkstra searches which only go up the contraction order, and the shortcuts of the walk found are unpacked
+ * into the edges of the graph. The costs must not be negative
+ */
+public class ContractionHierarchy
+{
+    /**
+     * The witness searches of a contraction give up after settling this many vertices and the shortcut is added anyway
+     */
+    private static final int CONTRACTION_SETTLED_LIMIT = 100;
+    /**
+     * The witness searches which only estimate the shortcuts of a vertex for its priority stop sooner
+     */
+    private static final int ESTIMATE_SETTLED_LIMIT = 10;
+    /**
+     * The middle vertex of the edges which are not shortcuts
+     */
+    private static final int NO_MIDDLE = -1;
+
+    private final AbstractCompressedDirectedGraph graph;
+    /**
+     * The position of every vertex in the contraction order
+     */
+    private final int[] ranks;
+    /**
+     * The edges from every vertex to the vertices contracted after it
+     */
+    private final EdgeArray upwardEdges;
+    /**
+     * The edges to every vertex from the vertices contracted after it
+     */
+    private final EdgeArray downwardEdges;
+    private final int shortcutNumber;
+    /**
+     * The query states not in use; a query takes one and gives it back, so there are only as many
+     * as the queries which ran at the same time, and they go away with the index
+     */
+    private final Queue<Query> idleQueries = new ConcurrentLinkedQueue<>();
+
+    private ContractionHierarchy(
+            AbstractCompressedDirectedGraph graph,
+            int[] ranks,
+            EdgeArray upwardEdges,
+            EdgeArray downwardEdges,
+            int shortcutNumber
+    )
+    {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.upwardEdges = upwardEdges;
+        this.downwardEdges = downwardEdges;
+        this.shortcutNumber = shortcutNumber;
+    }
+
+    /**
+     * Contracts the graph on the common ForkJoinPool
+     * @see #build(DirectedGraphView, ForkJoinPool)
+     */
+    public static ContractionHierarchy build(DirectedGraphView directedGraph)
+    {
+        return build(directedGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Contracts the graph in rounds. Every round contracts the vertices whose priority is lower than the priority
+     * of all their neighbours, so the vertices of a round are never adjacent and their shortcuts are found in parallel
+     * @param directedGraph The graph
+     * @param pool The pool where the witness searches run
+     * @return The hierarchy
+     * @throws NegativeCostException if the graph has an edge with a negative cost
+     */
+    public static ContractionHierarchy build(DirectedGraphView directedGraph, ForkJoinPool pool)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        if (Dijkstra.hasNegativeCosts(graph))
+        {
+            throw new NegativeCostException();
+        }
+        return new Contraction(graph, pool).run();
+    }
+
+    /**
+     * Gets the number of shortcut edges added by the contraction
+     */
+    public int getNumberOfShortcuts()
+    {
+        return shortcutNumber;
+    }
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the graph.
+     * Queries may run at the same time on different threads
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public Traversal.DTOCostWalk lowestCostWalk(int startVertex, int targetVertex)
+    {
+        int start = indexOf(startVertex);
+        int target = indexOf(targetVertex);
+        Query query = idleQueries.poll();
+        if (query == null)
+        {
+            query = new Query(graph.getNumberOfVertices());
+        }
+        try
+        {
+            query.run(start, target);
+            if (query.bestCost == Dijkstra.INFINITY)
+            {
+                return new Traversal.DTOCostWalk(Dijkstra.INFINITY, new ArrayList<>());
+            }
+            return new Traversal.DTOCostWalk(query.bestCost, query.walk());
+        }
+        finally
+        {
+            idleQueries.offer(query);
+        }
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+
+    /**
+     * Gets the vertex a shortcut skips, or NO_MIDDLE if the edge is an edge of the graph
+     */
+    private int middle(int index1, int index2)
+    {
+        if (ranks[index1] < ranks[index2])
+        {
+            return upwardEdges.middles[upwardEdges.find(index1, index2)];
+        }
+        return downwardEdges.middles[downwardEdges.find(index2, index1)];
+    }
+
+    /**
+     * The state of a query, reused by the following queries and reset in time proportional to the vertices it reached
+     */
+    private class Query
+    {
+        private final long[] forwardCosts;
+        private final long[] backwardCosts;
+        private final int[] forwardParents;
+        private final int[] backwardParents;
+        private final IndexedLongMinHeap forwardHeap;
+        private final IndexedLongMinHeap backwardHeap;
+        private final IntArrayList reached = new IntArrayList();
+        private long bestCost;
+        private int meeting;
+
+        Query(int vertexNumber)
+        {
+            forwardCosts = new long[vertexNumber];
+            backwardCosts = new long[vertexNumber];
+            forwardParents = new int[vertexNumber];
+            backwardParents = new int[vertexNumber];
+            Arrays.fill(forwardCosts, Dijkstra.INFINITY);
+            Arrays.fill(backwardCosts, Dijkstra.INFINITY);
+            forwardHeap = new IndexedLongMinHeap(vertexNumber);
+            backwardHeap = new IndexedLongMinHeap(vertexNumber);
+        }
+
+        void run(int start, int target)
+        {
+            for (int i = 0; i < reached.size(); i++)
+            {
+                forwardCosts[reached.get(i)] = Dijkstra.INFINITY;
+                backwardCosts[reached.get(i)] = Dijkstra.INFINITY;
+            }
+            reached.clear();
+            forwardHeap.clear();
+            backwardHeap.clear();
+            bestCost = Dijkstra.INFINITY;
+            meeting = Dijkstra.NO_PARENT;
+
+            forwardCosts[start] = 0;
+            forwardParents[start] = Dijkstra.NO_PARENT;
+            forwardHeap.push(start, 0);
+            reached.add(start);
+            backwardCosts[target] = 0;
+            backwardParents[target] = Dijkstra.NO_PARENT;
+            backwardHeap.push(target, 0);
+            reached.add(target);
+            while (!forwardHeap.isEmpty() || !backwardHeap.isEmpty())
+            {
+                boolean backward = forwardHeap.isEmpty()
+                        || (!backwardHeap.isEmpty()
+                        && backwardHeap.getKey(backwardHeap.peek()) < forwardHeap.getKey(forwardHeap.peek()));
+                step(backward);
+            }
+        }
+
+        /**
+         * Settles the next vertex of one of the searches
+         */
+        private void step(boolean backward)
+        {
+            IndexedLongMinHeap heap = backward ? backwardHeap : forwardHeap;
+            long[] costs = backward ? backwardCosts : forwardCosts;
+            long[] otherCosts = backward ? forwardCosts : backwardCosts;
+            int[] parents = backward ? backwardParents : forwardParents;
+            EdgeArray edges = backward ? downwardEdges : upwardEdges;
+
+            int index = heap.poll();
+            long cost = costs[index];
+            if (cost >= bestCost)
+            {
+                // every walk through the vertices left in this search costs more
+                heap.clear();
+                return;
+            }
+            if (otherCosts[index] != Dijkstra.INFINITY && cost + otherCosts[index] < bestCost)
+            {
+                bestCost = cost + otherCosts[index];
+                meeting = index;
+            }
+            if (isStalled(index, cost, costs, backward ? upwardEdges : downwardEdges))
+            {
+                return;
+            }
+            for (int edge = edges.starts[index]; edge < edges.starts[index + 1]; edge++)
+            {
+                int neighbour = edges.neighbours[edge];
+                long newCost = cost + edges.costs[edge];
+                if (newCost < costs[neighbour])
+                {
+                    if (forwardCosts[neighbour] == Dijkstra.INFINITY && backwardCosts[neighbour] == Dijkstra.INFINITY)
+                    {
+                        reached.add(neighbour);
+                    }
+                    costs[neighbour] = newCost;
+                    parents[neighbour] = index;
+                    heap.push(neighbour, newCost);
+                }
+            }
+        }
+
+        /**
+         * Checks if a vertex is reached more cheaply through a vertex contracted after it, by an edge going down.
+         * Such a vertex is not on a lowest cost walk of this search, so its edges are not relaxed
+         * @param reverseEdges The edges leading to the vertex in this search, from the vertices contracted after it
+         */
+        private boolean isStalled(int index, long cost, long[] costs, EdgeArray reverseEdges)
+        {
+            for (int edge = reverseEdges.starts[index]; edge < reverseEdges.starts[index + 1]; edge++)
+            {
+                long neighbourCost = costs[reverseEdges.neighbours[edge]];
+                if (neighbourCost != Dijkstra.INFINITY && neighbourCost + reverseEdges.costs[edge] < cost)
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Unpacks the edges of the walk through the meeting vertex
+         */
+        List<Integer> walk()
+        {
+            IntArrayList upward = new IntArrayList();
+            for (int index = meeting; index != Dijkstra.NO_PARENT; index = forwardParents[index])
+            {
+                upward.add(index);
+            }
+            List<Integer> walk = new ArrayList<>();
+            int current = upward.get(upward.size() - 1);
+            walk.add(graph.vertexAt(current));
+            for (int i = upward.size() - 2; i >= 0; i--)
+            {
+                current = unpack(current, upward.get(i), walk);
+            }
+            for (int index = backwardParents[meeting]; index != Dijkstra.NO_PARENT; index = backwardParents[index])
+            {
+                current = unpack(current, index, walk);
+            }
+            return walk;
+        }
+
+        /**
+         * Appends the vertices of the edge, after its first vertex, replacing the shortcuts by the edges they skip
+         * @return The last vertex of the edge
+         */
+        private int unpack(int index1, int index2, List<Integer> walk)
+        {
+            IntArrayList pending = new IntArrayList();
+            pending.add(index2);
+            int current = index1;
+            while (!pending.isEmpty())
+            {
+                int next = pending.get(pending.size() - 1);
+                int middle = middle(current, next);
+                if (middle == NO_MIDDLE)
+                {
+                    walk.add(graph.vertexAt(next));
+                    current = next;
+                    pending.removeLast();
+                }
+                else
+                {
+                    pending.add(middle);
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Edges grouped by one of their vertices, in compressed sparse row form
+     */
+    private static class EdgeArray
+    {
+        /**
+         * The edges of the vertex with index i are in the range [starts[i], starts[i + 1])
+         */
+        final int[] starts;
+        /**
+         * The other vertex of every edge
+         */
+        final int[] neighbours;
+        final long[] costs;
+        final int[] middles;
+
+        EdgeArray(Adjacency[] adjacencies)
+        {
+            starts = new int[adjacencies.length + 1];
+            for (int index = 0; index < adjacencies.length; index++)
+            {
+                starts[index + 1] = starts[index] + adjacencies[index].size;
+            }
+            int edgeNumber = starts[adjacencies.length];
+            neighbours = new int[edgeNumber];
+            costs = new long[edgeNumber];
+            middles = new int[edgeNumber];
+            for (int index = 0; index < adjacencies.length; index++)
+            {
+                Adjacency adjacency = adjacencies[index];
+                System.arraycopy(adjacency.neighbours, 0, neighbours, starts[index], adjacency.size);
+                System.arraycopy(adjacency.costs, 0, costs, starts[index], adjacency.size);
+                System.arraycopy(adjacency.middles, 0, middles, starts[index], adjacency.size);
+            }
+        }
+
+        int find(int index, int neighbour)
+        {
+            for (int edge = starts[index]; edge < starts[index + 1]; edge++)
+            {
+                if (neighbours[edge] == neighbour)
+                {
+                    return edge;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * The outbound or inbound edges of a vertex while the graph is contracted, at most one for every neighbour
+     */
+    private static class Adjacency
+    {
+        private static final int MINIMUM_CAPACITY = 4;
+
+        int[] neighbours;
+        long[] costs;
+        int[] middles;
+        int size;
+
+        Adjacency(int capacity)
+        {
+            capacity = Math.max(capacity, MINIMUM_CAPACITY);
+            neighbours = new int[capacity];
+            costs = new long[capacity];
+            middles = new int[capacity];
+        }
+
+        void add(int neighbour, long cost, int middle)
+        {
+            if (size == neighbours.length)
+            {
+                neighbours = Arrays.copyOf(neighbours, 2 * size);
+                costs = Arrays.copyOf(costs, 2 * size);
+                middles = Arrays.copyOf(middles, 2 * size);
+            }
+            neighbours[size] = neighbour;
+            costs[size] = cost;
+            middles[size] = middle;
+            size++;
+        }
+
+        /**
+         * Adds the edge, or lowers the cost of the edge to the same neighbour
+         */
+        void addOrLower(int neighbour, long cost, int middle)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (neighbours[i] == neighbour)
+                {
+                    if (cost < costs[i])
+                    {
+                        costs[i] = cost;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            add(neighbour, cost, middle);
+        }
+
+        void remove(int neighbour)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                if (neighbours[i] == neighbour)
+                {
+                    size--;
+                    neighbours[i] = neighbours[size];
+                    costs[i] = costs[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The shortcuts needed to contract a vertex
+     */
+    private static class Shortcuts
+    {
+        final IntArrayList sources = new IntArrayList();
+        final IntArrayList targets = new IntArrayList();
+        long[] costs = new long[4];
+
+        void add(int source, int target, long cost)
+        {
+            if (sources.size() == costs.length)
+            {
+                costs = Arrays.copyOf(costs, 2 * costs.length);
+            }
+            costs[sources.size()] = cost;
+            sources.add(source);
+            targets.add(target);
+        }
+
+        int size()
+        {
+            return sources.size();
+        }
+    }
+
+    /**
+     * The state of the preprocessing
+     */
+    private static class Contraction
+    {
+        private static final int NOT_CONTRACTED = -1;
+
+        private final AbstractCompressedDirectedGraph graph;
+        private final ForkJoinPool pool;
+        private final int vertexNumber;
+        private final Adjacency[] outEdges;
+        private final Adjacency[] inEdges;
+        /**
+         * The rank of every contracted vertex, NOT_CONTRACTED for the others
+         */
+        private final int[] ranks;
+        /**
+         * The round in which every vertex was chosen for contraction, starting from 1
+         */
+        private final int[] rounds;
+        private final int[] contractedNeighbours;
+        private final int[] priorities;
+        /**
+         * The witness searches not in use, kept only until the contraction ends
+         */
+        private final Queue<WitnessSearch> idleWitnessSearches = new ConcurrentLinkedQueue<>();
+        private int round = 0;
+        private int shortcutNumber = 0;
+
+        Contraction(AbstractCompressedDirectedGraph graph, ForkJoinPool pool)
+        {
+            this.graph = graph;
+            this.pool = pool;
+            vertexNumber = graph.getNumberOfVertices();
+            outEdges = new Adjacency[vertexNumber];
+            inEdges = new Adjacency[vertexNumber];
+            for (int index = 0; index < vertexNumber; index++)
+            {
+                outEdges[index] = new Adjacency(graph.outEdgesEnd(index) - graph.outEdgesStart(index));
+                for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+                {
+                    // loops are never part of a lowest cost walk
+                    if (graph.outTarget(edge) != index)
+                    {
+                        outEdges[index].add(graph.outTarget(edge), graph.outCost(edge), NO_MIDDLE);
+                    }
+                }
+                inEdges[index] = new Adjacency(graph.inEdgesEnd(index) - graph.inEdgesStart(index));
+                for (int edge = graph.inEdgesStart(index); edge < graph.inEdgesEnd(index); edge++)
+                {
+                    if (graph.inSource(edge) != index)
+                    {
+                        inEdges[index].add(graph.inSource(edge), graph.inCost(edge), NO_MIDDLE);
+                    }
+                }
+            }
+            ranks = new int[vertexNumber];
+            Arrays.fill(ranks, NOT_CONTRACTED);
+            rounds = new int[vertexNumber];
+            contractedNeighbours = new int[vertexNumber];
+            priorities = new int[vertexNumber];
+        }
+
+        ContractionHierarchy run()
+        {
+            int[] remaining = IntStream.range(0, vertexNumber).toArray();
+            updatePriorities(remaining);
+            int rank = 0;
+            while (remaining.length > 0)
+            {
+                round++;
+                int[] candidates = remaining;
+                int[] chosen = pool.submit(() -> Arrays.stream(candidates).parallel()
+                        .filter(this::isLocalMinimum)
+                        .toArray()
+                ).join();
+                for (int index : chosen)
+                {
+                    rounds[index] = round;
+                }
+                Shortcuts[] shortcuts = pool.submit(() -> Arrays.stream(chosen).parallel()
+                        .mapToObj((index) -> findShortcuts(index, false))
+                        .toArray(Shortcuts[]::new)
+                ).join();
+
+                IntArrayList neighbours = new IntArrayList();
+                for (int i = 0; i < chosen.length; i++)
+                {
+                    contract(chosen[i], shortcuts[i], neighbours);
+                    ranks[chosen[i]] = rank++;
+                }
+                remaining = Arrays.stream(remaining).filter((index) -> ranks[index] == NOT_CONTRACTED).toArray();
+                updatePriorities(Arrays.stream(neighbours.toArray())
+                        .filter((index) -> ranks[index] == NOT_CONTRACTED)
+                        .distinct()
+                        .toArray());
+            }
+            return new ContractionHierarchy(
+                    graph,
+                    ranks,
+                    new EdgeArray(outEdges),
+                    new EdgeArray(inEdges),
+                    shortcutNumber
+            );
+        }
+
+        /**
+         * Removes the vertex from the adjacencies of its neighbours and links them with the shortcuts.
+         * The edges of the vertex itself are kept; they all lead to vertices contracted later
+         */
+        private void contract(int index, Shortcuts shortcuts, IntArrayList neighbours)
+        {
+            Adjacency out = outEdges[index];
+            for (int i = 0; i < out.size; i++)
+            {
+                inEdges[out.neighbours[i]].remove(index);
+                contractedNeighbours[out.neighbours[i]]++;
+                neighbours.add(out.neighbours[i]);
+            }
+            Adjacency in = inEdges[index];
+            for (int i = 0; i < in.size; i++)
+            {
+                outEdges[in.neighbours[i]].remove(index);
+                contractedNeighbours[in.neighbours[i]]++;
+                neighbours.add(in.neighbours[i]);
+            }
+            for (int i = 0; i < shortcuts.size(); i++)
+            {
+                int source = shortcuts.sources.get(i);
+                int target = shortcuts.targets.get(i);
+                outEdges[source].addOrLower(target, shortcuts.costs[i], index);
+                inEdges[target].addOrLower(source, shortcuts.costs[i], index);
+            }
+            shortcutNumber += shortcuts.size();
+        }
+
+        /**
+         * Computes the priorities of the vertices at the same time: the number of shortcuts their contraction needs,
+         * minus the number of their edges, plus the number of their neighbours already contracted
+         */
+        private void updatePriorities(int[] indices)
+        {
+            pool.submit(() -> Arrays.stream(indices).parallel().forEach((index) ->
+                    priorities[index] = findShortcuts(index, true).size()
+                            - outEdges[index].size - inEdges[index].size
+                            + contractedNeighbours[index]
+            )).join();
+        }
+
+        /**
+         * Checks if the vertex has a lower priority than all its neighbours, the lower index breaking ties
+         */
+        private boolean isLocalMinimum(int index)
+        {
+            return isLowerThanAll(index, outEdges[index]) && isLowerThanAll(index, inEdges[index]);
+        }
+
+        private boolean isLowerThanAll(int index, Adjacency adjacency)
+        {
+            for (int i = 0; i < adjacency.size; i++)
+            {
+                int neighbour = adjacency.neighbours[i];
+                if (priorities[neighbour] < priorities[index]
+                        || (priorities[neighbour] == priorities[index] && neighbour < index))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Finds the shortcuts needed to contract the vertex: an inbound and an outbound edge need a shortcut
+         * unless there is a witness walk avoiding the vertex which is at most as cheap.
+         * The witness walks also avoid the vertices chosen in the same round, which are contracted at the same time
+         * @param estimate true to only estimate the shortcuts for the priority, with shorter searches ignoring the round
+         */
+        private Shortcuts findShortcuts(int index, boolean estimate)
+        {
+            Shortcuts shortcuts = new Shortcuts();
+            Adjacency in = inEdges[index];
+            Adjacency out = outEdges[index];
+            if (in.size == 0 || out.size == 0)
+            {
+                return shortcuts;
+            }
+            long maximumOutCost = 0;
+            for (int i = 0; i < out.size; i++)
+            {
+                maximumOutCost = Math.max(maximumOutCost, out.costs[i]);
+            }
+            WitnessSearch witnessSearch = idleWitnessSearches.poll();
+            if (witnessSearch == null)
+            {
+                witnessSearch = new WitnessSearch(vertexNumber);
+            }
+            for (int i = 0; i < in.size; i++)
+            {
+                int source = in.neighbours[i];
+                long inCost = in.costs[i];
+                witnessSearch.run(
+                        source,
+                        index,
+                        estimate ? 0 : round,
+                        out,
+                        inCost + maximumOutCost,
+                        estimate ? ESTIMATE_SETTLED_LIMIT : CONTRACTION_SETTLED_LIMIT
+                );
+                for (int j = 0; j < out.size; j++)
+                {
+                    int target = out.neighbours[j];
+                    long cost = inCost + out.costs[j];
+                    if (target != source && witnessSearch.costs[target] > cost)
+                    {
+                        shortcuts.add(source, target, cost);
+                    }
+                }
+            }
+            idleWitnessSearches.offer(witnessSearch);
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra's algorithm on the vertices not contracted yet, limited by cost and by the settled vertices.
+         * It is reused by the following searches and reset in time proportional to the vertices it reached
+         */
+        private class WitnessSearch
+        {
+            private final long[] costs;
+            private final IndexedLongMinHeap heap;
+            private final IntArrayList reached = new IntArrayList();
+            /**
+             * The targets of the current search are marked with its number
+             */
+            private final int[] targetMarks;
+            private int searchNumber = 0;
+
+            WitnessSearch(int vertexNumber)
+            {
+                costs = new long[vertexNumber];
+                Arrays.fill(costs, Dijkstra.INFINITY);
+                heap = new IndexedLongMinHeap(vertexNumber);
+                targetMarks = new int[vertexNumber];
+            }
+
+            /**
+             * Computes the lowest costs from the start, until the targets are settled or the maximum cost is passed
+             * @param avoided The vertex being contracted
+             * @param avoidedRound The vertices chosen in this round are avoided too, or 0 to avoid none of them
+             * @param targets The vertices whose costs are needed
+             * @param settledLimit The number of settled vertices after which the search gives up
+             */
+            void run(int start, int avoided, int avoidedRound, Adjacency targets, long maximumCost, int settledLimit)
+            {
+                for (int i = 0; i < reached.size(); i++)
+                {
+                    costs[reached.get(i)] = Dijkstra.INFINITY;
+                }
+                reached.clear();
+                heap.clear();
+                searchNumber++;
+                for (int i = 0; i < targets.size; i++)
+                {
+                    targetMarks[targets.neighbours[i]] = searchNumber;
+                }
+                int targetsLeft = targets.size;
+                costs[start] = 0;
+                reached.add(start);
+                heap.push(start, 0);
+                int settled = 0;
+                while (!heap.isEmpty() && settled < settledLimit)
+                {
+                    int index = heap.poll();
+                    settled++;
+                    if (targetMarks[index] == searchNumber && --targetsLeft == 0)
+                    {
+                        return;
+                    }
+                    long cost = costs[index];
+                    Adjacency out = outEdges[index];
+                    for (int i = 0; i < out.size; i++)
+                    {
+                        int neighbour = out.neighbours[i];
+                        if (neighbour == avoided || (avoidedRound != 0 && rounds[neighbour] == avoidedRound))
+                        {
+                            continue;
+                        }
+                        long newCost = cost + out.costs[i];
+                        if (newCost <= maximumCost && newCost < costs[neighbour])
+                        {
+                            if (costs[neighbour] == Dijkstra.INFINITY)
+                            {
+                                reached.add(neighbour);
+                            }
+                            costs[neighbour] = newCost;
+                            heap.push(neighbour, newCost);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.collections.IntArrayList;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * The earliest and latest times of the activities of a project, where the vertices of an acyclic graph are the
+ * activities and an edge goes from an activity to one which can only start after it ends.
+ * The vertices are grouped in topological levels: a vertex is one level after the last level of its dependencies,
+ * so the vertices of a level only depend on earlier levels. The earliest times are pulled from the dependencies
+ * level by level from the first one, the latest times from the dependent activities level by level from the last
+ * one, with the vertices of a level computed at the same time on a pool.
+ * The times are kept in arrays indexed like the compressed form of the graph
+ */
+public class CriticalPath
+{
+    /**
+     * Smaller levels are computed by a single task
+     */
+    private static final int MINIMUM_PARALLEL_LEVEL = 1024;
+
+    private final AbstractCompressedDirectedGraph graph;
+    /**
+     * The vertex indices of level l are levelVertices[levelStarts[l]..levelStarts[l + 1])
+     */
+    private final int[] levelStarts;
+    private final int[] levelVertices;
+    private final int[] durations;
+    private final int[] earliestStarts;
+    private final int[] latestStarts;
+    private final int completionTime;
+
+    private CriticalPath(
+            AbstractCompressedDirectedGraph graph,
+            int[] levelStarts,
+            int[] levelVertices,
+            int[] durations,
+            int[] earliestStarts,
+            int[] latestStarts,
+            int completionTime
+    )
+    {
+        this.graph = graph;
+        this.levelStarts = levelStarts;
+        this.levelVertices = levelVertices;
+        this.durations = durations;
+        this.earliestStarts = earliestStarts;
+        this.latestStarts = latestStarts;
+        this.completionTime = completionTime;
+    }
+
+    /**
+     * Computes the times of the activities on the common ForkJoinPool
+     * @see #of(DirectedGraphView, IntUnaryOperator, ForkJoinPool)
+     */
+    public static CriticalPath of(DirectedGraphView directedGraph, IntUnaryOperator durations)
+    {
+        return of(directedGraph, durations, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the earliest and latest times of the activities
+     * @param directedGraph The graph of the activities
+     * @param durations Gives the duration of the activity of every vertex; it is asked once for every vertex
+     * @param pool The pool where the levels are computed
+     * @return The times of the activities, or null if the graph has a cycle
+     */
+    public static CriticalPath of(DirectedGraphView directedGraph, IntUnaryOperator durations, ForkJoinPool pool)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        int[] levelVertices = new int[vertexNumber];
+        int[] levelStarts = levels(graph, levelVertices);
+        if (levelStarts == null)
+        {
+            return null;
+        }
+        int[] vertexDurations = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            vertexDurations[index] = durations.applyAsInt(graph.vertexAt(index));
+        }
+
+        int levelNumber = levelStarts.length - 1;
+        int[] earliestStarts = new int[vertexNumber];
+        for (int level = 0; level < levelNumber; level++)
+        {
+            forEachOfLevel(levelStarts, levelVertices, level, pool, (index) ->
+            {
+                int earliestStart = 0;
+                for (int edge = graph.inEdgesStart(index); edge < graph.inEdgesEnd(index); edge++)
+                {
+                    int source = graph.inSource(edge);
+                    earliestStart = Math.max(earliestStart, earliestStarts[source] + vertexDurations[source]);
+                }
+                earliestStarts[index] = earliestStart;
+            });
+        }
+        int completionTime = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            completionTime = Math.max(completionTime, earliestStarts[index] + vertexDurations[index]);
+        }
+
+        int projectEnd = completionTime;
+        int[] latestStarts = new int[vertexNumber];
+        for (int level = levelNumber - 1; level >= 0; level--)
+        {
+            forEachOfLevel(levelStarts, levelVertices, level, pool, (index) ->
+            {
+                int latestEnd = projectEnd;
+                for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+                {
+                    latestEnd = Math.min(latestEnd, latestStarts[graph.outTarget(edge)]);
+                }
+                latestStarts[index] = latestEnd - vertexDurations[index];
+            });
+        }
+        return new CriticalPath(
+                graph,
+                levelStarts,
+                levelVertices,
+                vertexDurations,
+                earliestStarts,
+                latestStarts,
+                completionTime
+        );
+    }
+
+    /**
+     * Groups the vertices in topological levels with Kahn's algorithm, taking a whole level at a time
+     * @param levelVertices Receives the vertex indices, level by level
+     * @return The start of every level in levelVertices followed by the number of vertices,
+     * or null if the graph has a cycle
+     */
+    private static int[] levels(AbstractCompressedDirectedGraph graph, int[] levelVertices)
+    {
+        int vertexNumber = graph.getNumberOfVertices();
+        int[] inDegrees = new int[vertexNumber];
+        int tail = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            inDegrees[index] = graph.inEdgesEnd(index) - graph.inEdgesStart(index);
+            if (inDegrees[index] == 0)
+            {
+                levelVertices[tail++] = index;
+            }
+        }
+        IntArrayList levelStarts = new IntArrayList();
+        int head = 0;
+        while (head < tail)
+        {
+            levelStarts.add(head);
+            int levelEnd = tail;
+            for (; head < levelEnd; head++)
+            {
+                int index = levelVertices[head];
+                for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+                {
+                    int target = graph.outTarget(edge);
+                    if (--inDegrees[target] == 0)
+                    {
+                        levelVertices[tail++] = target;
+                    }
+                }
+            }
+        }
+        if (tail < vertexNumber)
+        {
+            return null;
+        }
+        levelStarts.add(vertexNumber);
+        return levelStarts.toArray();
+    }
+
+    /**
+     * Computes the vertices of a level, on the pool if the level is large enough
+     */
+    private static void forEachOfLevel(
+            int[] levelStarts,
+            int[] levelVertices,
+            int level,
+            ForkJoinPool pool,
+            IntConsumer action
+    )
+    {
+        int from = levelStarts[level];
+        int to = levelStarts[level + 1];
+        if (to - from < MINIMUM_PARALLEL_LEVEL)
+        {
+            for (int i = from; i < to; i++)
+            {
+                action.accept(levelVertices[i]);
+            }
+        }
+        else
+        {
+            pool.submit(() -> IntStream.range(from, to).parallel().forEach((i) -> action.accept(levelVertices[i])))
+                .join();
+        }
+    }
+
+    /**
+     * Gets the time when all the activities can be finished at the earliest
+     */
+    public int getCompletionTime()
+    {
+        return completionTime;
+    }
+
+    /**
+     * Gets the number of topological levels; every walk of the graph has fewer edges
+     */
+    public int getNumberOfLevels()
+    {
+        return levelStarts.length - 1;
+    }
+
+    /**
+     * Gets the vertices level by level, which is a topological order of the graph
+     */
+    public List<Integer> getOrder()
+    {
+        List<Integer> order = new ArrayList<>(levelVertices.length);
+        for (int index : levelVertices)
+        {
+            order.add(graph.vertexAt(index));
+        }
+        return order;
+    }
+
+    /**
+     * Gets the earliest time when the activity of the vertex can start
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getEarliestStart(int vertex)
+    {
+        return earliestStarts[indexOf(vertex)];
+    }
+
+    /**
+     * Gets the earliest time when the activity of the vertex can end
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getEarliestEnd(int vertex)
+    {
+        int index = indexOf(vertex);
+        return earliestStarts[index] + durations[index];
+    }
+
+    /**
+     * Gets the latest time when the activity of the vertex can start without delaying the project
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getLatestStart(int vertex)
+    {
+        return latestStarts[indexOf(vertex)];
+    }
+
+    /**
+     * Gets the latest time when the activity of the vertex can end without delaying the project
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getLatestEnd(int vertex)
+    {
+        int index = indexOf(vertex);
+        return latestStarts[index] + durations[index];
+    }
+
+    /**
+     * Checks if the activity of the vertex cannot start later without delaying the project
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public boolean isCritical(int vertex)
+    {
+        int index = indexOf(vertex);
+        return earliestStarts[index] == latestStarts[index];
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+}
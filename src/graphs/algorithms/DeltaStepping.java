@@ -0,0 +1,292 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.collections.IndexedLongMinHeap;
+import graphs.collections.IntArrayList;
+import graphs.exceptions.NegativeCostException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Single source lowest costs with the delta-stepping algorithm, on several threads.
+ * The vertices are kept in buckets of width delta by their tentative cost; the lowest bucket is emptied by relaxing
+ * the edges of all its vertices at the same time, with the costs lowered by compare-and-set, until no vertex falls
+ * back into it. A width of 1 behaves like Dijkstra's algorithm, an infinite width like Bellman-Ford.
+ * The costs must not be negative
+ */
+public class DeltaStepping
+{
+    /**
+     * The number of parts the vertices of a bucket are split into for every thread of the pool
+     */
+    private static final int TASKS_PER_THREAD = 4;
+    /**
+     * Smaller buckets are emptied by a single task
+     */
+    private static final int MINIMUM_PARALLEL_BUCKET = 256;
+
+    /**
+     * Computes the lowest cost walks from the specified vertex on the common ForkJoinPool,
+     * with the bucket width given by suggestDelta
+     * @see #shortestPathTree(DirectedGraphView, int, long, ForkJoinPool)
+     */
+    public static ShortestPathTree shortestPathTree(DirectedGraphView directedGraph, int startVertex)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        return shortestPathTree(graph, startVertex, suggestDelta(graph), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the lowest cost walks from the specified vertex
+     * @param directedGraph The graph
+     * @param startVertex The vertex where the walks start
+     * @param delta The width of the buckets; narrow buckets do less work, wide buckets give the threads more to share
+     * @param pool The pool where the buckets are emptied
+     * @return The tree of walks
+     * @throws VertexDoesNotExistException if the startVertex is not in the graph
+     * @throws NegativeCostException if the graph has an edge with a negative cost
+     */
+    public static ShortestPathTree shortestPathTree(
+            DirectedGraphView directedGraph,
+            int startVertex,
+            long delta,
+            ForkJoinPool pool
+    )
+    {
+        if (delta <= 0)
+        {
+            throw new IllegalArgumentException("The bucket width must be positive");
+        }
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int start = graph.indexOf(startVertex);
+        if (start < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        if (Dijkstra.hasNegativeCosts(graph))
+        {
+            throw new NegativeCostException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] distances = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        search(graph, start, delta, pool, distances);
+        findParents(graph, start, distances, parents, pool);
+        return new ShortestPathTree(graph, start, distances, parents);
+    }
+
+    /**
+     * Suggests a bucket width for the graph: the largest cost divided by the average outbound degree,
+     * so that a bucket holds about one edge of every vertex in it
+     * @return The width, at least 1
+     */
+    public static long suggestDelta(DirectedGraphView directedGraph)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        long maximumCost = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+            {
+                maximumCost = Math.max(maximumCost, graph.outCost(edge));
+            }
+        }
+        int edgeNumber = graph.getNumberOfEdges();
+        if (edgeNumber == 0)
+        {
+            return 1;
+        }
+        return Math.max(1, maximumCost * vertexNumber / edgeNumber);
+    }
+
+    /**
+     * Computes the lowest costs from the start vertex.
+     * The buckets are a heap of the queued vertices keyed by their bucket number, so only the buckets in use take
+     * memory and the lowest one is found directly. Every task collects the vertices whose cost it lowered,
+     * which are queued again between the rounds; a vertex is in a single bucket, the one of its current cost
+     * @param distances Receives the lowest cost of every vertex, Dijkstra.INFINITY for the unreachable ones
+     */
+    static void search(
+            AbstractCompressedDirectedGraph graph,
+            int start,
+            long delta,
+            ForkJoinPool pool,
+            long[] distances
+    )
+    {
+        int vertexNumber = graph.getNumberOfVertices();
+        AtomicLongArray costs = new AtomicLongArray(vertexNumber);
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            costs.set(index, Dijkstra.INFINITY);
+        }
+        costs.set(start, 0);
+
+        int taskNumber = pool.getParallelism() * TASKS_PER_THREAD;
+        IntArrayList[] lowered = new IntArrayList[taskNumber];
+        for (int task = 0; task < taskNumber; task++)
+        {
+            lowered[task] = new IntArrayList();
+        }
+        IndexedLongMinHeap buckets = new IndexedLongMinHeap(vertexNumber);
+        int[] frontier = {start};
+        while (frontier.length > 0)
+        {
+            int[] vertices = frontier;
+            if (vertices.length < MINIMUM_PARALLEL_BUCKET)
+            {
+                relax(graph, costs, vertices, 0, vertices.length, lowered[0]);
+            }
+            else
+            {
+                pool.submit(() -> IntStream.range(0, taskNumber).parallel().forEach((task) -> relax(
+                        graph,
+                        costs,
+                        vertices,
+                        (int) ((long) vertices.length * task / taskNumber),
+                        (int) ((long) vertices.length * (task + 1) / taskNumber),
+                        lowered[task]
+                ))).join();
+            }
+
+            // the vertices only move to lower buckets, which may be the bucket just emptied
+            for (IntArrayList part : lowered)
+            {
+                for (int i = 0; i < part.size(); i++)
+                {
+                    int index = part.get(i);
+                    buckets.push(index, costs.get(index) / delta);
+                }
+                part.clear();
+            }
+            IntArrayList next = new IntArrayList();
+            if (!buckets.isEmpty())
+            {
+                long bucket = buckets.getKey(buckets.peek());
+                while (!buckets.isEmpty() && buckets.getKey(buckets.peek()) == bucket)
+                {
+                    next.add(buckets.poll());
+                }
+            }
+            frontier = next.toArray();
+        }
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            distances[index] = costs.get(index);
+        }
+    }
+
+    /**
+     * Relaxes the outbound edges of a part of the frontier, lowering the costs with compare-and-set
+     * @param lowered Receives the vertices whose cost was lowered
+     */
+    private static void relax(
+            AbstractCompressedDirectedGraph graph,
+            AtomicLongArray costs,
+            int[] frontier,
+            int from,
+            int to,
+            IntArrayList lowered
+    )
+    {
+        for (int i = from; i < to; i++)
+        {
+            int index = frontier[i];
+            long cost = costs.get(index);
+            for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+            {
+                int neighbour = graph.outTarget(edge);
+                long newCost = cost + graph.outCost(edge);
+                long oldCost = costs.get(neighbour);
+                while (newCost < oldCost)
+                {
+                    if (costs.compareAndSet(neighbour, oldCost, newCost))
+                    {
+                        lowered.add(neighbour);
+                        break;
+                    }
+                    oldCost = costs.get(neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Chooses the parent of every reached vertex among the inbound edges which make up its cost.
+     * An edge with a positive cost never closes a cycle of such edges, so those are chosen in parallel;
+     * the vertices reached only by edges without cost are attached afterwards, starting from the others
+     * @param parents Receives the index of the previous vertex on a lowest cost walk of every reached vertex
+     */
+    static void findParents(
+            AbstractCompressedDirectedGraph graph,
+            int start,
+            long[] distances,
+            int[] parents,
+            ForkJoinPool pool
+    )
+    {
+        Arrays.fill(parents, Dijkstra.NO_PARENT);
+        int vertexNumber = graph.getNumberOfVertices();
+        boolean[] attached = new boolean[vertexNumber];
+        pool.submit(() -> IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+        {
+            long distance = distances[index];
+            if (index == start || distance == Dijkstra.INFINITY)
+            {
+                attached[index] = true;
+                return;
+            }
+            for (int edge = graph.inEdgesStart(index); edge < graph.inEdgesEnd(index); edge++)
+            {
+                int source = graph.inSource(edge);
+                if (graph.inCost(edge) > 0 && distances[source] != Dijkstra.INFINITY
+                        && distances[source] + graph.inCost(edge) == distance)
+                {
+                    parents[index] = source;
+                    attached[index] = true;
+                    return;
+                }
+            }
+        })).join();
+
+        IntArrayList queue = new IntArrayList();
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            if (attached[index])
+            {
+                continue;
+            }
+            for (int edge = graph.inEdgesStart(index); edge < graph.inEdgesEnd(index); edge++)
+            {
+                int source = graph.inSource(edge);
+                if (attached[source] && graph.inCost(edge) == 0 && distances[source] == distances[index])
+                {
+                    parents[index] = source;
+                    attached[index] = true;
+                    queue.add(index);
+                    break;
+                }
+            }
+        }
+        while (!queue.isEmpty())
+        {
+            int index = queue.removeLast();
+            for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+            {
+                int target = graph.outTarget(edge);
+                if (!attached[target] && graph.outCost(edge) == 0 && distances[target] == distances[index])
+                {
+                    parents[target] = index;
+                    attached[target] = true;
+                    queue.add(target);
+                }
+            }
+        }
+    }
+}
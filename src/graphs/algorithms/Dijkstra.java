@@ -0,0 +1,187 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.collections.IndexedLongMinHeap;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Lowest cost walks with Dijkstra's algorithm, on the compressed form of a graph.
+ * The vertices are handled by their indices in the compressed graph and the costs must not be negative
+ */
+public class Dijkstra
+{
+    /**
+     * The distance of the vertices which cannot be reached
+     */
+    public static final long INFINITY = Long.MAX_VALUE;
+    /**
+     * The parent of the start vertex and of the vertices which cannot be reached
+     */
+    public static final int NO_PARENT = -1;
+
+    /**
+     * Checks if the graph has an edge with a negative cost, in which case Dijkstra's algorithm cannot be used
+     */
+    public static boolean hasNegativeCosts(AbstractCompressedDirectedGraph graph)
+    {
+        int edgeNumber = graph.getNumberOfEdges();
+        for (int edge = 0; edge < edgeNumber; edge++)
+        {
+            if (graph.outCost(edge) < 0)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the graph
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public static Traversal.DTOCostWalk lowestCostWalk(
+            AbstractCompressedDirectedGraph graph,
+            int startVertex,
+            int targetVertex
+    )
+    {
+        int start = graph.indexOf(startVertex);
+        int target = graph.indexOf(targetVertex);
+        if (start < 0 || target < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] distances = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        search(graph, start, target, distances, parents);
+        if (distances[target] == INFINITY)
+        {
+            return new Traversal.DTOCostWalk(INFINITY, new ArrayList<>());
+        }
+        return new Traversal.DTOCostWalk(distances[target], walk(graph, parents, target));
+    }
+
+    /**
+     * Computes the lowest costs from the start vertex, stopping once the target vertex is settled
+     * @param graph The graph
+     * @param start The index of the start vertex
+     * @param target The index of the target vertex, or -1 to reach every vertex
+     * @param distances Receives the lowest cost of every settled vertex, INFINITY for the unreached ones
+     * @param parents Receives the index of the previous vertex on the lowest cost walk of every reached vertex
+     */
+    static void search(
+            AbstractCompressedDirectedGraph graph,
+            int start,
+            int target,
+            long[] distances,
+            int[] parents
+    )
+    {
+        search(graph, null, start, target, distances, parents);
+    }
+
+    /**
+     * Computes the lowest costs from the start vertex with the costs reweighted by vertex potentials:
+     * the edge (u, v) costs cost + potentials[u] - potentials[v], which must not be negative.
+     * The reweighted cost of a walk differs from its cost by potentials[start] - potentials[end],
+     * so the lowest cost walks are the same
+     * @param potentials The potential of every vertex, or null to use the costs as they are
+     * @param parents Receives the parents like distances receives the costs, or null if the walks are not needed
+     */
+    static void search(
+            AbstractCompressedDirectedGraph graph,
+            long[] potentials,
+            int start,
+            int target,
+            long[] distances,
+            int[] parents
+    )
+    {
+        search(graph, false, potentials, start, target, distances, parents);
+    }
+
+    /**
+     * Computes the lowest costs from every vertex to the start vertex, following the inbound edges
+     * @param distances Receives the lowest cost from every vertex, INFINITY for the vertices which cannot reach the start
+     */
+    static void searchBackward(AbstractCompressedDirectedGraph graph, int start, long[] distances)
+    {
+        search(graph, true, null, start, -1, distances, null);
+    }
+
+    private static void search(
+            AbstractCompressedDirectedGraph graph,
+            boolean backward,
+            long[] potentials,
+            int start,
+            int target,
+            long[] distances,
+            int[] parents
+    )
+    {
+        Arrays.fill(distances, INFINITY);
+        if (parents != null)
+        {
+            Arrays.fill(parents, NO_PARENT);
+        }
+        IndexedLongMinHeap heap = new IndexedLongMinHeap(distances.length);
+        distances[start] = 0;
+        heap.push(start, 0);
+        while (!heap.isEmpty())
+        {
+            int index = heap.poll();
+            if (index == target)
+            {
+                return;
+            }
+            long distance = distances[index];
+            if (potentials != null)
+            {
+                distance += potentials[index];
+            }
+            int end = backward ? graph.inEdgesEnd(index) : graph.outEdgesEnd(index);
+            for (int edge = backward ? graph.inEdgesStart(index) : graph.outEdgesStart(index); edge < end; edge++)
+            {
+                int neighbour = backward ? graph.inSource(edge) : graph.outTarget(edge);
+                long newDistance = distance + (backward ? graph.inCost(edge) : graph.outCost(edge));
+                if (potentials != null)
+                {
+                    newDistance -= potentials[neighbour];
+                }
+                if (newDistance < distances[neighbour])
+                {
+                    distances[neighbour] = newDistance;
+                    if (parents != null)
+                    {
+                        parents[neighbour] = index;
+                    }
+                    heap.push(neighbour, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Follows the parents back from the target
+     * @return The vertices of the walk which ends in the target, in walk order
+     */
+    static List<Integer> walk(AbstractCompressedDirectedGraph graph, int[] parents, int target)
+    {
+        List<Integer> walk = new ArrayList<>();
+        for (int index = target; index != NO_PARENT; index = parents[index])
+        {
+            walk.add(graph.vertexAt(index));
+        }
+        Collections.reverse(walk);
+        return walk;
+    }
+}
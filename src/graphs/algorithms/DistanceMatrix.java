@@ -0,0 +1,56 @@
+package graphs.algorithms;
+
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.Arrays;
+
+/**
+ * The lowest costs between every two vertices of a graph, in primitive rows indexed in increasing order of the vertices
+ */
+public class DistanceMatrix
+{
+    private final int[] vertices;
+    private final long[][] costs;
+
+    DistanceMatrix(int[] vertices, long[][] costs)
+    {
+        this.vertices = vertices;
+        this.costs = costs;
+    }
+
+    public int getNumberOfVertices()
+    {
+        return vertices.length;
+    }
+
+    /**
+     * Gets the lowest cost of a walk between the specified vertices
+     * @param vertex1 The vertex where the walk starts
+     * @param vertex2 The vertex where the walk ends
+     * @return The lowest cost, or Dijkstra.INFINITY if there is no walk
+     * @throws VertexDoesNotExistException if one of the vertices is not in the graph
+     */
+    public long getCost(int vertex1, int vertex2)
+    {
+        return costs[indexOf(vertex1)][indexOf(vertex2)];
+    }
+
+    /**
+     * Checks if there is a walk between the specified vertices
+     * @throws VertexDoesNotExistException if one of the vertices is not in the graph
+     */
+    public boolean existsWalk(int vertex1, int vertex2)
+    {
+        return getCost(vertex1, vertex2) != Dijkstra.INFINITY;
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = Arrays.binarySearch(vertices, vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+}
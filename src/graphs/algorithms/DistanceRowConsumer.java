@@ -0,0 +1,16 @@
+package graphs.algorithms;
+
+/**
+ * Receives the rows of an all pairs lowest cost table, one start vertex at a time
+ */
+@FunctionalInterface
+public interface DistanceRowConsumer
+{
+    /**
+     * Receives a row; the array is reused for the next rows
+     * @param vertex The start vertex of the row
+     * @param costs The lowest cost from the start vertex to every vertex, in increasing order of the vertices,
+     *              or Dijkstra.INFINITY for the vertices which cannot be reached
+     */
+    void accept(int vertex, long[] costs);
+}
@@ -0,0 +1,110 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * All pairs lowest costs with Johnson's algorithm: a single Bellman-Ford pass computes vertex potentials
+ * which make every cost non-negative, then Dijkstra's algorithm runs from every vertex, in parallel
+ */
+public class Johnson
+{
+    private static final int ROWS_PER_THREAD = 4;
+
+    /**
+     * Computes the lowest costs between every two vertices on the common ForkJoinPool
+     * @param directedGraph The graph
+     * @return The table of costs, or null if there are negative cost cycles in the graph
+     */
+    public static DistanceMatrix allPairsLowestCosts(DirectedGraphView directedGraph)
+    {
+        return allPairsLowestCosts(directedGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the lowest costs between every two vertices
+     * @param directedGraph The graph
+     * @param pool The pool where the Dijkstra searches run
+     * @return The table of costs, or null if there are negative cost cycles in the graph
+     */
+    public static DistanceMatrix allPairsLowestCosts(DirectedGraphView directedGraph, ForkJoinPool pool)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        long[] potentials = BellmanFord.potentials(graph);
+        if (potentials == null)
+        {
+            return null;
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[][] costs = new long[vertexNumber][];
+        pool.submit(() -> IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+        {
+            costs[index] = new long[vertexNumber];
+            computeRow(graph, potentials, index, costs[index]);
+        })).join();
+
+        int[] vertices = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            vertices[index] = graph.vertexAt(index);
+        }
+        return new DistanceMatrix(vertices, costs);
+    }
+
+    /**
+     * Computes the lowest costs between every two vertices and passes them to the consumer row by row,
+     * in increasing order of the start vertices, so the whole table never has to be in memory
+     * @param directedGraph The graph
+     * @param pool The pool where the Dijkstra searches run
+     * @param consumer Receives the rows
+     * @return false if there are negative cost cycles in the graph, in which case no row is passed; true otherwise
+     */
+    public static boolean allPairsLowestCosts(
+            DirectedGraphView directedGraph,
+            ForkJoinPool pool,
+            DistanceRowConsumer consumer
+    )
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        long[] potentials = BellmanFord.potentials(graph);
+        if (potentials == null)
+        {
+            return false;
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        // the rows are computed a block at a time, so only a block of rows is in memory
+        int blockSize = Math.min(pool.getParallelism() * ROWS_PER_THREAD, vertexNumber);
+        long[][] block = new long[blockSize][vertexNumber];
+        for (int first = 0; first < vertexNumber; first += blockSize)
+        {
+            int start = first;
+            int rowNumber = Math.min(blockSize, vertexNumber - first);
+            pool.submit(() -> IntStream.range(0, rowNumber).parallel().forEach((row) ->
+                    computeRow(graph, potentials, start + row, block[row])
+            )).join();
+            for (int row = 0; row < rowNumber; row++)
+            {
+                consumer.accept(graph.vertexAt(start + row), block[row]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs Dijkstra's algorithm on the reweighted costs from the specified vertex and restores the real costs
+     */
+    private static void computeRow(AbstractCompressedDirectedGraph graph, long[] potentials, int start, long[] row)
+    {
+        Dijkstra.search(graph, potentials, start, -1, row, null);
+        for (int index = 0; index < row.length; index++)
+        {
+            if (row[index] != Dijkstra.INFINITY)
+            {
+                row[index] = row[index] - potentials[start] + potentials[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,587 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.collections.IndexedLongMinHeap;
+import graphs.collections.IntArrayList;
+import graphs.exceptions.NegativeCostException;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Point to point lowest cost walks with bidirectional A* and landmark bounds (ALT).
+ * The lowest costs from and to a few landmark vertices are computed once; by the triangle inequality they give
+ * lower bounds of the cost between any two vertices, which direct the searches towards each other.
+ * Both searches use the average of the two bounds as potential, so the first meeting rule of bidirectional
+ * Dijkstra still holds; the potentials are doubled to stay integers. The costs must not be negative
+ */
+public class LandmarkIndex
+{
+    /**
+     * The extension of the file where the landmarks of a graph file are saved, next to the graph file
+     */
+    public static final String FILE_EXTENSION = ".landmarks";
+    /**
+     * Landmark files start with the magic number, the format version, the number of vertices, the number of edges,
+     * the number of landmarks and the fingerprint of the graph, followed by the landmarks and,
+     * for every landmark, the costs from it and the costs to it. All the values are little endian
+     */
+    private static final int FILE_MAGIC = 0x4B524D4C;
+    private static final int FILE_VERSION = 1;
+    private static final int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+    private static final long PRUNED = Long.MAX_VALUE;
+    private static final long UNKNOWN = Long.MIN_VALUE;
+
+    private final AbstractCompressedDirectedGraph graph;
+    /**
+     * The indices of the landmarks
+     */
+    private final int[] landmarks;
+    /**
+     * The lowest cost from every landmark to every vertex
+     */
+    private final long[][] costsFromLandmarks;
+    /**
+     * The lowest cost from every vertex to every landmark
+     */
+    private final long[][] costsToLandmarks;
+    private final AtomicLong settledVertices = new AtomicLong();
+    /**
+     * The states of the queries which finished, for the next queries to reuse; there are never more
+     * than the queries which ran at the same time
+     */
+    private final Queue<Query> idleQueries = new ConcurrentLinkedQueue<>();
+
+    private LandmarkIndex(
+            AbstractCompressedDirectedGraph graph,
+            int[] landmarks,
+            long[][] costsFromLandmarks,
+            long[][] costsToLandmarks
+    )
+    {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.costsFromLandmarks = costsFromLandmarks;
+        this.costsToLandmarks = costsToLandmarks;
+    }
+
+    /**
+     * Chooses the landmarks and computes their costs on the common ForkJoinPool
+     * @see #build(DirectedGraphView, int, ForkJoinPool)
+     */
+    public static LandmarkIndex build(DirectedGraphView directedGraph, int landmarkNumber)
+    {
+        return build(directedGraph, landmarkNumber, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Chooses the landmarks and computes their costs.
+     * Every landmark is the vertex farthest from the landmarks chosen before it; the costs to the landmarks
+     * are computed on the pool while the next landmarks are chosen
+     * @param directedGraph The graph
+     * @param landmarkNumber The number of landmarks; more landmarks give better bounds but use more memory
+     * @param pool The pool where the costs to the landmarks are computed
+     * @return The index
+     * @throws NegativeCostException if the graph has an edge with a negative cost
+     */
+    public static LandmarkIndex build(DirectedGraphView directedGraph, int landmarkNumber, ForkJoinPool pool)
+    {
+        if (landmarkNumber <= 0)
+        {
+            throw new IllegalArgumentException("The number of landmarks must be positive");
+        }
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        if (Dijkstra.hasNegativeCosts(graph))
+        {
+            throw new NegativeCostException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        landmarkNumber = Math.min(landmarkNumber, vertexNumber);
+        int[] landmarks = new int[landmarkNumber];
+        long[][] costsFromLandmarks = new long[landmarkNumber][vertexNumber];
+        long[][] costsToLandmarks = new long[landmarkNumber][vertexNumber];
+        List<ForkJoinTask<?>> backwardSearches = new ArrayList<>(landmarkNumber);
+
+        // the cost from the nearest landmark to every vertex, starting with an arbitrary vertex in place of a landmark
+        long[] nearestCosts = new long[vertexNumber];
+        if (vertexNumber > 0)
+        {
+            Dijkstra.search(graph, 0, -1, nearestCosts, new int[vertexNumber]);
+        }
+        for (int i = 0; i < landmarkNumber; i++)
+        {
+            int landmark = 0;
+            for (int index = 1; index < vertexNumber; index++)
+            {
+                if (nearestCosts[index] > nearestCosts[landmark])
+                {
+                    landmark = index;
+                }
+            }
+            landmarks[i] = landmark;
+            int chosen = landmark;
+            long[] costsToLandmark = costsToLandmarks[i];
+            backwardSearches.add(pool.submit(() -> Dijkstra.searchBackward(graph, chosen, costsToLandmark)));
+
+            Dijkstra.search(graph, landmark, -1, costsFromLandmarks[i], new int[vertexNumber]);
+            for (int index = 0; index < vertexNumber; index++)
+            {
+                nearestCosts[index] = i == 0
+                        ? costsFromLandmarks[i][index]
+                        : Math.min(nearestCosts[index], costsFromLandmarks[i][index]);
+            }
+            // the landmarks themselves are never chosen again
+            for (int j = 0; j <= i; j++)
+            {
+                nearestCosts[landmarks[j]] = -1;
+            }
+        }
+        backwardSearches.forEach(ForkJoinTask::join);
+        return new LandmarkIndex(graph, landmarks, costsFromLandmarks, costsToLandmarks);
+    }
+
+    /**
+     * Gets the landmarks
+     */
+    public List<Integer> getLandmarks()
+    {
+        List<Integer> vertices = new ArrayList<>(landmarks.length);
+        for (int landmark : landmarks)
+        {
+            vertices.add(graph.vertexAt(landmark));
+        }
+        return vertices;
+    }
+
+    /**
+     * Gets the total number of vertices settled by the queries answered so far
+     */
+    public long getSettledVertices()
+    {
+        return settledVertices.get();
+    }
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the graph
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public Traversal.DTOCostWalk lowestCostWalk(int startVertex, int targetVertex)
+    {
+        int start = indexOf(startVertex);
+        int target = indexOf(targetVertex);
+        if (start == target)
+        {
+            return new Traversal.DTOCostWalk(0, new ArrayList<>(Collections.singletonList(startVertex)));
+        }
+        Query query = idleQueries.poll();
+        if (query == null)
+        {
+            query = new Query(graph.getNumberOfVertices());
+        }
+        try
+        {
+            query.reset(start, target);
+            if (query.potential(start) == PRUNED)
+            {
+                return new Traversal.DTOCostWalk(Dijkstra.INFINITY, new ArrayList<>());
+            }
+            query.run();
+            settledVertices.addAndGet(query.settled);
+            if (query.bestCost == Dijkstra.INFINITY)
+            {
+                return new Traversal.DTOCostWalk(Dijkstra.INFINITY, new ArrayList<>());
+            }
+            return new Traversal.DTOCostWalk(query.bestCost, query.walk());
+        }
+        finally
+        {
+            idleQueries.offer(query);
+        }
+    }
+
+    /**
+     * The state of a query, reused by the following queries and reset in time proportional to the vertices it reached
+     */
+    private class Query
+    {
+        private final long[] forwardCosts;
+        private final long[] backwardCosts;
+        private final int[] forwardParents;
+        private final int[] backwardParents;
+        private final IndexedLongMinHeap forwardHeap;
+        private final IndexedLongMinHeap backwardHeap;
+        /**
+         * The doubled potential of every vertex, UNKNOWN until it is needed
+         * and PRUNED for the vertices which cannot be on a walk from the start to the target
+         */
+        private final long[] potentials;
+        /**
+         * The vertices whose potential was computed, which include every vertex either search reached
+         */
+        private final IntArrayList reached = new IntArrayList();
+        private int start;
+        private int target;
+        private long bestCost;
+        private int meeting;
+        private long settled;
+
+        Query(int vertexNumber)
+        {
+            forwardCosts = new long[vertexNumber];
+            backwardCosts = new long[vertexNumber];
+            forwardParents = new int[vertexNumber];
+            backwardParents = new int[vertexNumber];
+            potentials = new long[vertexNumber];
+            Arrays.fill(forwardCosts, Dijkstra.INFINITY);
+            Arrays.fill(backwardCosts, Dijkstra.INFINITY);
+            Arrays.fill(potentials, UNKNOWN);
+            forwardHeap = new IndexedLongMinHeap(vertexNumber);
+            backwardHeap = new IndexedLongMinHeap(vertexNumber);
+        }
+
+        /**
+         * Clears what the previous query left and prepares a query between two vertices
+         */
+        void reset(int start, int target)
+        {
+            for (int i = 0; i < reached.size(); i++)
+            {
+                int index = reached.get(i);
+                forwardCosts[index] = Dijkstra.INFINITY;
+                backwardCosts[index] = Dijkstra.INFINITY;
+                potentials[index] = UNKNOWN;
+            }
+            reached.clear();
+            forwardHeap.clear();
+            backwardHeap.clear();
+            this.start = start;
+            this.target = target;
+            bestCost = Dijkstra.INFINITY;
+            meeting = Dijkstra.NO_PARENT;
+            settled = 0;
+        }
+
+        void run()
+        {
+            forwardCosts[start] = 0;
+            forwardParents[start] = Dijkstra.NO_PARENT;
+            forwardHeap.push(start, potential(start));
+            backwardCosts[target] = 0;
+            backwardParents[target] = Dijkstra.NO_PARENT;
+            backwardHeap.push(target, -potential(target));
+            while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty())
+            {
+                long forwardKey = forwardHeap.getKey(forwardHeap.peek());
+                long backwardKey = backwardHeap.getKey(backwardHeap.peek());
+                // the keys are doubled reduced costs, so no walk through the unsettled vertices is cheaper
+                if (bestCost != Dijkstra.INFINITY && forwardKey + backwardKey >= 2 * bestCost)
+                {
+                    return;
+                }
+                if (forwardHeap.size() <= backwardHeap.size())
+                {
+                    step(false);
+                }
+                else
+                {
+                    step(true);
+                }
+            }
+        }
+
+        /**
+         * Settles the next vertex of one of the searches
+         */
+        private void step(boolean backward)
+        {
+            IndexedLongMinHeap heap = backward ? backwardHeap : forwardHeap;
+            long[] costs = backward ? backwardCosts : forwardCosts;
+            long[] otherCosts = backward ? forwardCosts : backwardCosts;
+            int[] parents = backward ? backwardParents : forwardParents;
+
+            int index = heap.poll();
+            settled++;
+            long cost = costs[index];
+            int end = backward ? graph.inEdgesEnd(index) : graph.outEdgesEnd(index);
+            for (int edge = backward ? graph.inEdgesStart(index) : graph.outEdgesStart(index); edge < end; edge++)
+            {
+                int neighbour = backward ? graph.inSource(edge) : graph.outTarget(edge);
+                long potential = potential(neighbour);
+                if (potential == PRUNED)
+                {
+                    continue;
+                }
+                long newCost = cost + (backward ? graph.inCost(edge) : graph.outCost(edge));
+                if (newCost < costs[neighbour])
+                {
+                    costs[neighbour] = newCost;
+                    parents[neighbour] = index;
+                    heap.push(neighbour, 2 * newCost + (backward ? -potential : potential));
+                    if (otherCosts[neighbour] != Dijkstra.INFINITY && newCost + otherCosts[neighbour] < bestCost)
+                    {
+                        bestCost = newCost + otherCosts[neighbour];
+                        meeting = neighbour;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gets the doubled forward potential of a vertex: the lower bound of the cost to the target
+         * minus the lower bound of the cost from the start
+         */
+        long potential(int index)
+        {
+            if (potentials[index] == UNKNOWN)
+            {
+                long toTarget = lowerBound(index, target);
+                long fromStart = lowerBound(start, index);
+                potentials[index] = toTarget == PRUNED || fromStart == PRUNED ? PRUNED : toTarget - fromStart;
+                reached.add(index);
+            }
+            return potentials[index];
+        }
+
+        /**
+         * Computes a lower bound of the cost from the first vertex to the second one
+         * @return The bound, or PRUNED if the landmarks show there is no walk
+         */
+        private long lowerBound(int index1, int index2)
+        {
+            long bound = 0;
+            for (int i = 0; i < landmarks.length; i++)
+            {
+                // cost(index1, landmark) <= cost(index1, index2) + cost(index2, landmark)
+                long cost1 = costsToLandmarks[i][index1];
+                long cost2 = costsToLandmarks[i][index2];
+                if (cost2 != Dijkstra.INFINITY)
+                {
+                    if (cost1 == Dijkstra.INFINITY)
+                    {
+                        return PRUNED;
+                    }
+                    bound = Math.max(bound, cost1 - cost2);
+                }
+                // cost(landmark, index2) <= cost(landmark, index1) + cost(index1, index2)
+                cost1 = costsFromLandmarks[i][index1];
+                cost2 = costsFromLandmarks[i][index2];
+                if (cost1 != Dijkstra.INFINITY)
+                {
+                    if (cost2 == Dijkstra.INFINITY)
+                    {
+                        return PRUNED;
+                    }
+                    bound = Math.max(bound, cost2 - cost1);
+                }
+            }
+            return bound;
+        }
+
+        /**
+         * Joins the two halves of the best walk at the meeting vertex
+         */
+        List<Integer> walk()
+        {
+            List<Integer> walk = Dijkstra.walk(graph, forwardParents, meeting);
+            for (int index = backwardParents[meeting]; index != Dijkstra.NO_PARENT; index = backwardParents[index])
+            {
+                walk.add(graph.vertexAt(index));
+            }
+            return walk;
+        }
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+
+    /**
+     * Loads the landmarks saved next to the graph file, or builds and saves them if they are missing,
+     * were computed for a different graph or have a different number of landmarks
+     * @param directedGraph The graph read from the graph file
+     * @param graphFileName The graph file
+     * @param landmarkNumber The number of landmarks
+     * @return The index
+     * @throws NegativeCostException if the graph has an edge with a negative cost
+     */
+    public static LandmarkIndex loadOrBuild(DirectedGraphView directedGraph, String graphFileName, int landmarkNumber)
+            throws IOException
+    {
+        String fileName = graphFileName + FILE_EXTENSION;
+        if (new File(fileName).exists())
+        {
+            try
+            {
+                LandmarkIndex index = load(directedGraph, fileName);
+                if (index.landmarks.length == Math.min(landmarkNumber, index.graph.getNumberOfVertices()))
+                {
+                    return index;
+                }
+            }
+            catch (IOException ignored)
+            {
+
+            }
+        }
+        LandmarkIndex index = build(directedGraph, landmarkNumber);
+        index.save(fileName);
+        return index;
+    }
+
+    /**
+     * Writes the landmarks and their costs to a file
+     * @param fileName The landmark file
+     */
+    public void save(String fileName) throws IOException
+    {
+        int vertexNumber = graph.getNumberOfVertices();
+        try (FileChannel channel = FileChannel.open(
+                Paths.get(fileName),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        ))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(vertexNumber * Long.BYTES, HEADER_SIZE + Integer.BYTES))
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(FILE_MAGIC).putInt(FILE_VERSION).putInt(vertexNumber).putInt(graph.getNumberOfEdges());
+            buffer.putInt(landmarks.length).putLong(fingerprint(graph));
+            write(channel, buffer);
+            for (int landmark : landmarks)
+            {
+                buffer.putInt(landmark);
+                write(channel, buffer);
+            }
+            for (int i = 0; i < landmarks.length; i++)
+            {
+                buffer.asLongBuffer().put(costsFromLandmarks[i]);
+                buffer.position(vertexNumber * Long.BYTES);
+                write(channel, buffer);
+                buffer.asLongBuffer().put(costsToLandmarks[i]);
+                buffer.position(vertexNumber * Long.BYTES);
+                write(channel, buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads the landmarks of the graph from a file written by save
+     * @param directedGraph The graph the landmarks were computed for
+     * @param fileName The landmark file
+     * @return The index
+     * @throws IOException if the file cannot be read or it was not computed for the graph
+     */
+    public static LandmarkIndex load(DirectedGraphView directedGraph, String fileName) throws IOException
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ))
+        {
+            ByteBuffer header = read(channel, 0, HEADER_SIZE + Integer.BYTES);
+            if (header.getInt() != FILE_MAGIC || header.getInt() != FILE_VERSION)
+            {
+                throw new IOException("Not a landmark file: " + fileName);
+            }
+            int landmarkNumber;
+            if (header.getInt() != vertexNumber
+                    || header.getInt() != graph.getNumberOfEdges()
+                    || (landmarkNumber = header.getInt()) > vertexNumber
+                    || landmarkNumber < 0
+                    || header.getLong() != fingerprint(graph))
+            {
+                throw new IOException("The landmark file was computed for a different graph: " + fileName);
+            }
+            long position = HEADER_SIZE + Integer.BYTES;
+            long expectedSize = position + (long) landmarkNumber * Integer.BYTES
+                    + 2L * landmarkNumber * vertexNumber * Long.BYTES;
+            if (channel.size() != expectedSize)
+            {
+                throw new IOException("The landmark file has the wrong size: " + fileName);
+            }
+
+            int[] landmarks = new int[landmarkNumber];
+            read(channel, position, landmarkNumber * Integer.BYTES).asIntBuffer().get(landmarks);
+            position += landmarkNumber * Integer.BYTES;
+            long[][] costsFromLandmarks = new long[landmarkNumber][vertexNumber];
+            long[][] costsToLandmarks = new long[landmarkNumber][vertexNumber];
+            for (int i = 0; i < landmarkNumber; i++)
+            {
+                read(channel, position, vertexNumber * Long.BYTES).asLongBuffer().get(costsFromLandmarks[i]);
+                position += vertexNumber * Long.BYTES;
+                read(channel, position, vertexNumber * Long.BYTES).asLongBuffer().get(costsToLandmarks[i]);
+                position += vertexNumber * Long.BYTES;
+            }
+            return new LandmarkIndex(graph, landmarks, costsFromLandmarks, costsToLandmarks);
+        }
+    }
+
+    /**
+     * Hashes the vertices, edges and costs of the graph, to recognize the graph a landmark file belongs to
+     */
+    private static long fingerprint(AbstractCompressedDirectedGraph graph)
+    {
+        long hash = 1;
+        int vertexNumber = graph.getNumberOfVertices();
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            hash = 31 * hash + graph.vertexAt(index);
+            int end = graph.outEdgesEnd(index);
+            for (int edge = graph.outEdgesStart(index); edge < end; edge++)
+            {
+                hash = 31 * hash + graph.outTarget(edge);
+                hash = 31 * hash + graph.outCost(edge);
+            }
+            hash = 31 * hash + end;
+        }
+        return hash;
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining())
+        {
+            if (channel.read(buffer, position + buffer.position()) < 0)
+            {
+                throw new IOException("Unexpected end of the landmark file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
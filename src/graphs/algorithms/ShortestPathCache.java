@@ -0,0 +1,118 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraphView;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the shortest path trees of a graph, keyed by their start vertex.
+ * The least recently used tree is dropped when the cache is full, and all the trees are dropped
+ * as soon as the version of the graph changes, so a tree of an older graph is never returned
+ */
+public class ShortestPathCache
+{
+    private final DirectedGraphView directedGraph;
+    private final Map<Integer, ShortestPathTree> trees;
+    /**
+     * The version of the graph the cached trees were computed from
+     */
+    private long version;
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache
+     * @param directedGraph The graph whose walks are cached
+     * @param capacity The largest number of trees kept
+     */
+    public ShortestPathCache(DirectedGraphView directedGraph, int capacity)
+    {
+        if (capacity <= 0)
+        {
+            throw new IllegalArgumentException("The capacity must be positive");
+        }
+        this.directedGraph = directedGraph;
+        this.version = directedGraph.getVersion();
+        this.trees = new LinkedHashMap<Integer, ShortestPathTree>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ShortestPathTree> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Gets the shortest path tree of the specified start vertex, computing it if it is not cached
+     * @param startVertex The vertex where the walks start
+     * @return The tree of walks, or null if there are negative cost cycles reachable from the startVertex
+     * @throws VertexDoesNotExistException if the startVertex is not in the graph
+     */
+    public synchronized ShortestPathTree get(int startVertex)
+    {
+        if (version != directedGraph.getVersion())
+        {
+            trees.clear();
+            version = directedGraph.getVersion();
+        }
+        // the trees of the start vertices which reach negative cost cycles are cached as null
+        if (trees.containsKey(startVertex))
+        {
+            hits++;
+            return trees.get(startVertex);
+        }
+        misses++;
+        ShortestPathTree tree = ShortestPathTree.of(directedGraph, startVertex);
+        trees.put(startVertex, tree);
+        return tree;
+    }
+
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex, using the cached trees
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * or null if there are negative cost cycles reachable from the startingVertex
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public Traversal.DTOCostWalk lowestCostWalk(int startVertex, int targetVertex)
+    {
+        ShortestPathTree tree = get(startVertex);
+        return tree == null ? null : tree.lowestCostWalk(targetVertex);
+    }
+
+    /**
+     * Gets the number of cached trees
+     */
+    public synchronized int size()
+    {
+        return trees.size();
+    }
+
+    /**
+     * Gets the number of queries answered from the cache
+     */
+    public synchronized long getHits()
+    {
+        return hits;
+    }
+
+    /**
+     * Gets the number of queries which computed a tree
+     */
+    public synchronized long getMisses()
+    {
+        return misses;
+    }
+
+    /**
+     * Drops all the cached trees
+     */
+    public synchronized void clear()
+    {
+        trees.clear();
+    }
+}
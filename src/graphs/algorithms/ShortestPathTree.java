@@ -0,0 +1,120 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The lowest cost walks from a start vertex to every vertex of a graph.
+ * It is computed once and then answers the queries for any target vertex,
+ * in time proportional to the length of the walk
+ */
+public class ShortestPathTree
+{
+    private final AbstractCompressedDirectedGraph graph;
+    private final int start;
+    private final long[] distances;
+    private final int[] parents;
+
+    ShortestPathTree(AbstractCompressedDirectedGraph graph, int start, long[] distances, int[] parents)
+    {
+        this.graph = graph;
+        this.start = start;
+        this.distances = distances;
+        this.parents = parents;
+    }
+
+    /**
+     * Computes the lowest cost walks from the specified vertex, with Dijkstra's algorithm if no cost is negative
+     * and with the queue based Bellman-Ford algorithm otherwise
+     * @param directedGraph The graph
+     * @param startVertex The vertex where the walks start
+     * @return The tree of walks, or null if there are negative cost cycles reachable from the startVertex
+     * @throws VertexDoesNotExistException if the startVertex is not in the graph
+     */
+    public static ShortestPathTree of(DirectedGraphView directedGraph, int startVertex)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int start = graph.indexOf(startVertex);
+        if (start < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        int vertexNumber = graph.getNumberOfVertices();
+        long[] distances = new long[vertexNumber];
+        int[] parents = new int[vertexNumber];
+        if (!Dijkstra.hasNegativeCosts(graph))
+        {
+            Dijkstra.search(graph, start, -1, distances, parents);
+        }
+        else if (!BellmanFord.search(graph, start, distances, parents))
+        {
+            return null;
+        }
+        return new ShortestPathTree(graph, start, distances, parents);
+    }
+
+    /**
+     * Gets the vertex where the walks start
+     */
+    public int getStartVertex()
+    {
+        return graph.vertexAt(start);
+    }
+
+    /**
+     * Checks if there is a walk from the start vertex to the specified vertex
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public boolean existsWalk(int targetVertex)
+    {
+        return distances[indexOf(targetVertex)] != Dijkstra.INFINITY;
+    }
+
+    /**
+     * Gets the lowest cost of a walk from the start vertex to the specified vertex
+     * @return The cost, or Dijkstra.INFINITY if there is no walk
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public long getCost(int targetVertex)
+    {
+        return distances[indexOf(targetVertex)];
+    }
+
+    /**
+     * Gets the lowest cost walk from the start vertex to the specified vertex
+     * @return The vertices of the walk, or an empty list if there is no walk
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public List<Integer> getWalk(int targetVertex)
+    {
+        int target = indexOf(targetVertex);
+        if (distances[target] == Dijkstra.INFINITY)
+        {
+            return new ArrayList<>();
+        }
+        return Dijkstra.walk(graph, parents, target);
+    }
+
+    /**
+     * Gets the lowest cost walk to the specified vertex, in the form returned by Traversal.lowestCostWalk
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public Traversal.DTOCostWalk lowestCostWalk(int targetVertex)
+    {
+        return new Traversal.DTOCostWalk(getCost(targetVertex), getWalk(targetVertex));
+    }
+
+    private int indexOf(int vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return index;
+    }
+}
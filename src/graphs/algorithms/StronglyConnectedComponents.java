@@ -0,0 +1,547 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.collections.IntArrayList;
+import graphs.exceptions.VertexDoesNotExistException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * The strongly connected components of a directed graph, as a component number for every vertex,
+ * together with the condensation: the acyclic graph with a vertex for every component.
+ * The components are numbered from 0, in the order of their first vertex in the graph
+ */
+public class StronglyConnectedComponents
+{
+    private static final int NO_ROOT = -1;
+    /**
+     * The colour of the vertices whose component is known
+     */
+    private static final int DONE = -1;
+    /**
+     * Smaller parts of the graph are split by Tarjan's algorithm instead of forward-backward searches
+     */
+    private static final int SEQUENTIAL_PART = 1024;
+
+    private final AbstractCompressedDirectedGraph graph;
+    /**
+     * The component of every vertex index
+     */
+    private final int[] components;
+    /**
+     * The vertices of component c are componentVertices[componentStarts[c]..componentStarts[c + 1]),
+     * in the order of the graph
+     */
+    private final int[] componentStarts;
+    private final int[] componentVertices;
+    /**
+     * The condensation, once it is built
+     */
+    private DirectedGraph condensation;
+
+    private StronglyConnectedComponents(AbstractCompressedDirectedGraph graph, int[] roots)
+    {
+        this.graph = graph;
+        int vertexNumber = roots.length;
+        // the number of every root, from 1 so that 0 marks the roots not numbered yet
+        int[] rootComponents = new int[vertexNumber];
+        components = new int[vertexNumber];
+        int componentNumber = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            if (rootComponents[roots[index]] == 0)
+            {
+                rootComponents[roots[index]] = ++componentNumber;
+            }
+            components[index] = rootComponents[roots[index]] - 1;
+        }
+        componentStarts = new int[componentNumber + 1];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            componentStarts[components[index] + 1]++;
+        }
+        for (int component = 0; component < componentNumber; component++)
+        {
+            componentStarts[component + 1] += componentStarts[component];
+        }
+        componentVertices = new int[vertexNumber];
+        int[] fill = Arrays.copyOf(componentStarts, componentNumber);
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            componentVertices[fill[components[index]]++] = graph.vertexAt(index);
+        }
+    }
+
+    /**
+     * Computes the strongly connected components of the graph with Tarjan's algorithm,
+     * using explicit stacks so that long walks do not overflow the call stack
+     * @param directedGraph The graph
+     * @return The components
+     */
+    public static StronglyConnectedComponents of(DirectedGraphView directedGraph)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        int[] roots = new int[vertexNumber];
+        int[] vertices = new int[vertexNumber];
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            vertices[index] = index;
+        }
+        tarjan(graph, vertices, null, 0, new Workspace(vertexNumber), roots);
+        return new StronglyConnectedComponents(graph, roots);
+    }
+
+    /**
+     * Computes the strongly connected components of the graph on the common ForkJoinPool
+     * @see #ofParallel(DirectedGraphView, ForkJoinPool)
+     */
+    public static StronglyConnectedComponents ofParallel(DirectedGraphView directedGraph)
+    {
+        return ofParallel(directedGraph, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the strongly connected components of the graph with the forward-backward algorithm on the pool.
+     * The vertices without inbound or without outbound edges are first set apart as components of their own.
+     * Then every part of the graph is split at the same time: the vertices reached both forward and backward from
+     * a pivot are its component, and the vertices reached only forward, only backward or not at all form three
+     * parts which no component crosses. The components and their numbers are the same as the ones computed by of
+     * @param directedGraph The graph
+     * @param pool The pool where the parts are split
+     * @return The components
+     */
+    public static StronglyConnectedComponents ofParallel(DirectedGraphView directedGraph, ForkJoinPool pool)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        int[] roots = new int[vertexNumber];
+        // the part of every vertex; the vertices of a part only follow the edges inside it
+        int[] colours = new int[vertexNumber];
+        pool.submit(() -> IntStream.range(0, vertexNumber).parallel().forEach((index) ->
+        {
+            if (isTrivial(graph, index))
+            {
+                roots[index] = index;
+                colours[index] = DONE;
+            }
+            else
+            {
+                roots[index] = NO_ROOT;
+            }
+        })).join();
+
+        IntArrayList rest = new IntArrayList();
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            if (colours[index] != DONE)
+            {
+                rest.add(index);
+            }
+        }
+        Workspace workspace = new Workspace(vertexNumber);
+        AtomicInteger nextColour = new AtomicInteger(1);
+        List<int[]> parts = new ArrayList<>();
+        if (!rest.isEmpty())
+        {
+            parts.add(rest.toArray());
+        }
+        while (!parts.isEmpty())
+        {
+            List<int[]> currentParts = parts;
+            int[][][] splits = new int[currentParts.size()][][];
+            pool.submit(() -> IntStream.range(0, currentParts.size()).parallel().forEach((part) ->
+            {
+                int[] vertices = currentParts.get(part);
+                int colour = colours[vertices[0]];
+                if (vertices.length < SEQUENTIAL_PART)
+                {
+                    tarjan(graph, vertices, colours, colour, workspace, roots);
+                    splits[part] = new int[0][];
+                }
+                else
+                {
+                    splits[part] = split(graph, vertices, colours, colour, nextColour, workspace, roots);
+                }
+            })).join();
+            parts = new ArrayList<>();
+            for (int[][] split : splits)
+            {
+                for (int[] part : split)
+                {
+                    if (part.length > 0)
+                    {
+                        parts.add(part);
+                    }
+                }
+            }
+        }
+        return new StronglyConnectedComponents(graph, roots);
+    }
+
+    /**
+     * The arrays of the searches, indexed by vertex; the searches of disjoint parts use different slots
+     */
+    private static class Workspace
+    {
+        /**
+         * The discovery number of every vertex in Tarjan's algorithm, 0 for the vertices not discovered yet
+         */
+        private final int[] order;
+        /**
+         * The lowest discovery number reached from the subtree of every vertex
+         */
+        private final int[] low;
+        /**
+         * The next outbound edge of every vertex on the call stack
+         */
+        private final int[] nextEdges;
+        private final boolean[] onStack;
+        private final boolean[] forward;
+        private final boolean[] backward;
+
+        private Workspace(int vertexNumber)
+        {
+            order = new int[vertexNumber];
+            low = new int[vertexNumber];
+            nextEdges = new int[vertexNumber];
+            onStack = new boolean[vertexNumber];
+            forward = new boolean[vertexNumber];
+            backward = new boolean[vertexNumber];
+        }
+    }
+
+    /**
+     * Checks if the vertex has no inbound or no outbound edge from another vertex, so it is a component alone
+     */
+    private static boolean isTrivial(AbstractCompressedDirectedGraph graph, int index)
+    {
+        boolean hasOut = false;
+        for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index) && !hasOut; edge++)
+        {
+            hasOut = graph.outTarget(edge) != index;
+        }
+        boolean hasIn = false;
+        for (int edge = graph.inEdgesStart(index); edge < graph.inEdgesEnd(index) && !hasIn; edge++)
+        {
+            hasIn = graph.inSource(edge) != index;
+        }
+        return !hasOut || !hasIn;
+    }
+
+    /**
+     * Finds the components of a part of the graph with Tarjan's algorithm, keeping the walk on an explicit stack
+     * @param vertices The vertex indices of the part
+     * @param colours The part of every vertex, or null if the part is the whole graph
+     * @param colour The colour of the part
+     * @param roots Receives, for every vertex of the part, the first vertex of its component to be finished
+     */
+    private static void tarjan(
+            AbstractCompressedDirectedGraph graph,
+            int[] vertices,
+            int[] colours,
+            int colour,
+            Workspace workspace,
+            int[] roots
+    )
+    {
+        int[] order = workspace.order;
+        int[] low = workspace.low;
+        int[] nextEdges = workspace.nextEdges;
+        boolean[] onStack = workspace.onStack;
+        int[] callStack = new int[vertices.length];
+        int[] componentStack = new int[vertices.length];
+        int depth = 0;
+        int stackSize = 0;
+        int counter = 0;
+        for (int start : vertices)
+        {
+            if (order[start] != 0)
+            {
+                continue;
+            }
+            order[start] = low[start] = ++counter;
+            nextEdges[start] = graph.outEdgesStart(start);
+            componentStack[stackSize++] = start;
+            onStack[start] = true;
+            callStack[depth++] = start;
+            while (depth > 0)
+            {
+                int index = callStack[depth - 1];
+                if (nextEdges[index] < graph.outEdgesEnd(index))
+                {
+                    int neighbour = graph.outTarget(nextEdges[index]++);
+                    if (colours != null && colours[neighbour] != colour)
+                    {
+                        continue;
+                    }
+                    if (order[neighbour] == 0)
+                    {
+                        order[neighbour] = low[neighbour] = ++counter;
+                        nextEdges[neighbour] = graph.outEdgesStart(neighbour);
+                        componentStack[stackSize++] = neighbour;
+                        onStack[neighbour] = true;
+                        callStack[depth++] = neighbour;
+                    }
+                    else if (onStack[neighbour])
+                    {
+                        low[index] = Math.min(low[index], order[neighbour]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (depth > 0)
+                {
+                    int parent = callStack[depth - 1];
+                    low[parent] = Math.min(low[parent], low[index]);
+                }
+                if (low[index] == order[index])
+                {
+                    int member;
+                    do
+                    {
+                        member = componentStack[--stackSize];
+                        onStack[member] = false;
+                        roots[member] = index;
+                    }
+                    while (member != index);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a part of the graph by the vertices reached forward and backward from its first vertex
+     * @param nextColour Gives the colours of the new parts
+     * @return The three new parts, some of them possibly empty
+     */
+    private static int[][] split(
+            AbstractCompressedDirectedGraph graph,
+            int[] vertices,
+            int[] colours,
+            int colour,
+            AtomicInteger nextColour,
+            Workspace workspace,
+            int[] roots
+    )
+    {
+        int pivot = vertices[0];
+        boolean[] forward = workspace.forward;
+        boolean[] backward = workspace.backward;
+        IntStream.range(0, 2).parallel().forEach((direction) ->
+                search(graph, pivot, colours, colour, direction == 0, direction == 0 ? forward : backward)
+        );
+
+        IntArrayList forwardOnly = new IntArrayList();
+        IntArrayList backwardOnly = new IntArrayList();
+        IntArrayList neither = new IntArrayList();
+        for (int index : vertices)
+        {
+            if (forward[index] && backward[index])
+            {
+                roots[index] = pivot;
+                colours[index] = DONE;
+            }
+            else if (forward[index])
+            {
+                forwardOnly.add(index);
+            }
+            else if (backward[index])
+            {
+                backwardOnly.add(index);
+            }
+            else
+            {
+                neither.add(index);
+            }
+            forward[index] = false;
+            backward[index] = false;
+        }
+        int[][] parts = {forwardOnly.toArray(), backwardOnly.toArray(), neither.toArray()};
+        for (int[] part : parts)
+        {
+            int partColour = nextColour.getAndIncrement();
+            for (int index : part)
+            {
+                colours[index] = partColour;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Marks the vertices of the part reached from the pivot, following the edges forward or backward
+     */
+    private static void search(
+            AbstractCompressedDirectedGraph graph,
+            int pivot,
+            int[] colours,
+            int colour,
+            boolean outbound,
+            boolean[] reached
+    )
+    {
+        IntArrayList stack = new IntArrayList();
+        reached[pivot] = true;
+        stack.add(pivot);
+        while (!stack.isEmpty())
+        {
+            int index = stack.removeLast();
+            int start = outbound ? graph.outEdgesStart(index) : graph.inEdgesStart(index);
+            int end = outbound ? graph.outEdgesEnd(index) : graph.inEdgesEnd(index);
+            for (int edge = start; edge < end; edge++)
+            {
+                int neighbour = outbound ? graph.outTarget(edge) : graph.inSource(edge);
+                if (!reached[neighbour] && colours[neighbour] == colour)
+                {
+                    reached[neighbour] = true;
+                    stack.add(neighbour);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the number of strongly connected components
+     */
+    public int getNumberOfComponents()
+    {
+        return componentStarts.length - 1;
+    }
+
+    /**
+     * Gets the component of the specified vertex
+     * @throws VertexDoesNotExistException if the vertex is not in the graph
+     */
+    public int getComponent(int vertex)
+    {
+        int index = graph.indexOf(vertex);
+        if (index < 0)
+        {
+            throw new VertexDoesNotExistException();
+        }
+        return components[index];
+    }
+
+    /**
+     * Checks if there are walks in both directions between the two vertices
+     * @throws VertexDoesNotExistException if one of the vertices is not in the graph
+     */
+    public boolean areStronglyConnected(int vertex1, int vertex2)
+    {
+        return getComponent(vertex1) == getComponent(vertex2);
+    }
+
+    /**
+     * Gets the number of vertices of the specified component
+     * @throws IndexOutOfBoundsException if there is no such component
+     */
+    public int getSize(int component)
+    {
+        checkComponent(component);
+        return componentStarts[component + 1] - componentStarts[component];
+    }
+
+    /**
+     * Gets the vertices of the specified component, in the order of the graph
+     * @throws IndexOutOfBoundsException if there is no such component
+     */
+    public List<Integer> getVertices(int component)
+    {
+        checkComponent(component);
+        List<Integer> vertices = new ArrayList<>(getSize(component));
+        for (int i = componentStarts[component]; i < componentStarts[component + 1]; i++)
+        {
+            vertices.add(componentVertices[i]);
+        }
+        return vertices;
+    }
+
+    /**
+     * Gets the condensation of the graph, building it the first time it is asked for: its vertices are the
+     * components, and there is an edge between two components if an edge of the graph goes from one to the other,
+     * with the lowest cost of such edges. The condensation has no cycles
+     */
+    public DirectedGraph getCondensation()
+    {
+        if (condensation == null)
+        {
+            int componentNumber = getNumberOfComponents();
+            DirectedGraph newCondensation = new DirectedGraph(componentNumber, componentNumber);
+            for (int index = 0; index < components.length; index++)
+            {
+                for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+                {
+                    int component1 = components[index];
+                    int component2 = components[graph.outTarget(edge)];
+                    int cost = graph.outCost(edge);
+                    if (component1 == component2)
+                    {
+                        continue;
+                    }
+                    if (!newCondensation.existsEdge(component1, component2))
+                    {
+                        newCondensation.addEdge(component1, component2, cost);
+                    }
+                    else if (cost < newCondensation.getCost(component1, component2))
+                    {
+                        newCondensation.changeCost(component1, component2, cost);
+                    }
+                }
+            }
+            condensation = newCondensation;
+        }
+        return condensation;
+    }
+
+    /**
+     * Orders the components so that every edge of the condensation goes from a component to a later one
+     * @return The components in topological order
+     */
+    public List<Integer> getTopologicalOrder()
+    {
+        DirectedGraph dag = getCondensation();
+        int componentNumber = getNumberOfComponents();
+        int[] inDegrees = new int[componentNumber];
+        IntArrayList ready = new IntArrayList();
+        for (int component = componentNumber - 1; component >= 0; component--)
+        {
+            inDegrees[component] = dag.inDegree(component);
+            if (inDegrees[component] == 0)
+            {
+                ready.add(component);
+            }
+        }
+        List<Integer> order = new ArrayList<>(componentNumber);
+        while (!ready.isEmpty())
+        {
+            int component = ready.removeLast();
+            order.add(component);
+            for (PrimitiveIterator.OfInt nexts = dag.iterateOutboundEdges(component); nexts.hasNext(); )
+            {
+                int next = nexts.nextInt();
+                if (--inDegrees[next] == 0)
+                {
+                    ready.add(next);
+                }
+            }
+        }
+        return order;
+    }
+
+    private void checkComponent(int component)
+    {
+        if (component < 0 || component >= getNumberOfComponents())
+        {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package graphs.algorithms;
+
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A topological order of a directed graph, computed with Kahn's algorithm on the compressed form of the graph:
+ * the vertices are taken in the order they run out of unprocessed inbound edges, with no recursion,
+ * so long chains of dependencies are handled like any other graph.
+ * If the graph has a cycle there is no order, and a cycle of the graph is given as witness instead
+ */
+public class TopologicalSort
+{
+    private final List<Integer> order;
+    private final List<Integer> cycle;
+
+    private TopologicalSort(List<Integer> order, List<Integer> cycle)
+    {
+        this.order = order;
+        this.cycle = cycle;
+    }
+
+    /**
+     * Sorts the vertices of the graph so that every edge goes from a vertex to a later one.
+     * The vertices without inbound edges start in the order of the graph
+     * @param directedGraph The graph
+     * @return The order, or the cycle which prevents it
+     */
+    public static TopologicalSort of(DirectedGraphView directedGraph)
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        int[] inDegrees = new int[vertexNumber];
+        // the processed vertices followed by the ready ones, in the order they became ready
+        int[] queue = new int[vertexNumber];
+        int tail = 0;
+        for (int index = 0; index < vertexNumber; index++)
+        {
+            inDegrees[index] = graph.inEdgesEnd(index) - graph.inEdgesStart(index);
+            if (inDegrees[index] == 0)
+            {
+                queue[tail++] = index;
+            }
+        }
+        for (int head = 0; head < tail; head++)
+        {
+            int index = queue[head];
+            for (int edge = graph.outEdgesStart(index); edge < graph.outEdgesEnd(index); edge++)
+            {
+                int target = graph.outTarget(edge);
+                if (--inDegrees[target] == 0)
+                {
+                    queue[tail++] = target;
+                }
+            }
+        }
+        if (tail < vertexNumber)
+        {
+            return new TopologicalSort(null, findCycle(graph, inDegrees));
+        }
+        List<Integer> order = new ArrayList<>(vertexNumber);
+        for (int index : queue)
+        {
+            order.add(graph.vertexAt(index));
+        }
+        return new TopologicalSort(order, null);
+    }
+
+    /**
+     * Finds a cycle among the vertices left by Kahn's algorithm: every one of them has an inbound edge
+     * from another one left, so following such edges backward has to come back to a vertex already seen
+     * @param inDegrees The number of unprocessed inbound edges of every vertex, positive for the ones left
+     */
+    private static List<Integer> findCycle(AbstractCompressedDirectedGraph graph, int[] inDegrees)
+    {
+        int vertexNumber = inDegrees.length;
+        int start = 0;
+        while (inDegrees[start] == 0)
+        {
+            start++;
+        }
+        // the step of the backward walk where every vertex was seen, from 1 so that 0 marks the unseen ones
+        int[] steps = new int[vertexNumber];
+        List<Integer> walk = new ArrayList<>();
+        int index = start;
+        while (steps[index] == 0)
+        {
+            walk.add(index);
+            steps[index] = walk.size();
+            int edge = graph.inEdgesStart(index);
+            while (inDegrees[graph.inSource(edge)] == 0)
+            {
+                edge++;
+            }
+            index = graph.inSource(edge);
+        }
+        List<Integer> cycle = new ArrayList<>(walk.size() - steps[index] + 1);
+        for (int i = walk.size() - 1; i >= steps[index] - 1; i--)
+        {
+            cycle.add(graph.vertexAt(walk.get(i)));
+        }
+        // the backward walk ends on the vertex it came back to, which goes first
+        Collections.rotate(cycle, 1);
+        return cycle;
+    }
+
+    /**
+     * Checks if the graph has no cycles, so it has a topological order
+     */
+    public boolean isAcyclic()
+    {
+        return order != null;
+    }
+
+    /**
+     * Gets the vertices in topological order
+     * @return The order, or null if the graph has a cycle
+     */
+    public List<Integer> getOrder()
+    {
+        return order;
+    }
+
+    /**
+     * Gets a cycle of the graph, as the list of its vertices where every vertex has an edge to the next one
+     * and the last vertex has an edge to the first one
+     * @return The cycle, or null if the graph has no cycles
+     */
+    public List<Integer> getCycle()
+    {
+        return cycle;
+    }
+}
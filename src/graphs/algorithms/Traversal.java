@@ -1,94 +1,33 @@
 package graphs.algorithms;
 
-import graphs.DirectedGraph;
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.DirectedGraphView;
 import graphs.OrderedVertexPair;
 import graphs.UndirectedGraph;
-import graphs.exceptions.EdgeAlreadyExistsException;
 import graphs.exceptions.VertexDoesNotExistException;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class Traversal
 {
     /**
-     * Computes the connected components of the graph
+     * Computes the connected components of the graph and builds the subgraph of every component
+     * @see ConnectedComponents
      */
     public static List<UndirectedGraph> getConnectedComponents(UndirectedGraph undirectedGraph)
     {
-        Map<Integer, Integer> components = new HashMap<>(undirectedGraph.getNumberOfVertices());
-        undirectedGraph.parseVertices().forEach((vertex) -> components.put(vertex, 0));
-
-        int componentIndex = 1;
-        for (Map.Entry<Integer, Integer> entry : components.entrySet())
-        {
-            if (entry.getValue() == 0)
-            {
-                depthFirstSearchAccessible(
-                        undirectedGraph,
-                        entry.getKey(),
-                        components,
-                        componentIndex
-                );
-                componentIndex++;
-            }
-        }
-
-        Map<Integer, UndirectedGraph> connectedComponents = new HashMap<>(componentIndex - 1);
-        for (int i = 1; i < componentIndex; i++)
-        {
-            connectedComponents.put(i, new UndirectedGraph());
-        }
-        for (Map.Entry<Integer, Integer> entry : components.entrySet())
-        {
-            connectedComponents.get(entry.getValue()).addVertex(entry.getKey());
-        }
-        for (Map.Entry<Integer, Integer> entry : components.entrySet())
-        {
-            for (int vertex2 : undirectedGraph.parseAdjacentEdges(entry.getKey()))
-            {
-                try
-                {
-                    connectedComponents.get(entry.getValue())
-                                       .addEdge(entry.getKey(),
-                                                vertex2,
-                                                undirectedGraph.getCost(entry.getKey(), vertex2)
-                                       );
-                }
-                catch (EdgeAlreadyExistsException ignored)
-                {
-
-                }
-            }
-        }
-        return new ArrayList<>(connectedComponents.values());
+        return ConnectedComponents.of(undirectedGraph).getGraphs();
     }
 
     /**
-     * Marks all the vertices that are connected to the initialVertex with the componentIndex in the components map
+     * Computes the strongly connected components of the graph and its condensation
+     * @see StronglyConnectedComponents
      */
-    private static void depthFirstSearchAccessible(
-            UndirectedGraph undirectedGraph,
-            int initialVertex,
-            Map<Integer, Integer> components,
-            int componentIndex
-    )
+    public static StronglyConnectedComponents getStronglyConnectedComponents(DirectedGraphView directedGraph)
     {
-        Stack<Integer> stack = new Stack<>();
-        stack.push(initialVertex);
-        components.put(initialVertex, componentIndex);
-        while (!stack.isEmpty())
-        {
-            int vertex = stack.pop();
-            for (int neighbour : undirectedGraph.parseAdjacentEdges(vertex))
-            {
-                if (components.get(neighbour) == 0)
-                {
-                    stack.push(neighbour);
-                    components.put(neighbour, componentIndex);
-                }
-            }
-        }
+        return StronglyConnectedComponents.of(directedGraph);
     }
 
     public static List<Integer> lowHamiltonian(UndirectedGraph undirectedGraph)
@@ -260,50 +199,18 @@ public class Traversal
         return true;
     }
 
-    private static class Status
-    {
-        private int cost;
-        private Integer parent;
-
-        public Status(int cost, Integer parent)
-        {
-            this.cost = cost;
-            this.parent = parent;
-        }
-
-        public int getCost()
-        {
-            return cost;
-        }
-
-        public void setCost(int cost)
-        {
-            this.cost = cost;
-        }
-
-        public Integer getParent()
-        {
-            return parent;
-        }
-
-        public void setParent(Integer parent)
-        {
-            this.parent = parent;
-        }
-    }
-
     public static class DTOCostWalk
     {
-        private int cost;
+        private long cost;
         private List<Integer> walk;
 
-        public DTOCostWalk(int cost, List<Integer> walk)
+        public DTOCostWalk(long cost, List<Integer> walk)
         {
             this.cost = cost;
             this.walk = walk;
         }
 
-        public int getCost()
+        public long getCost()
         {
             return cost;
         }
@@ -315,15 +222,16 @@ public class Traversal
     }
 
     /**
-     * Finds the lowest cost walk from the startingVertex to the targetVertex in the directedGraph
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the directedGraph.
+     * If no cost is negative, Dijkstra's algorithm is used; otherwise the queue based Bellman-Ford algorithm
      *
      * @return The lowest cost walk from the startingVertex to the targetVertex,
      * an empty walk if there is no walk between the two
-     * or null if there are negative cost cycles in the graph
+     * or null if there are negative cost cycles reachable from the startingVertex
      * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
      */
     public static DTOCostWalk lowestCostWalk(
-            DirectedGraph directedGraph,
+            DirectedGraphView directedGraph,
             int startVertex,
             int targetVertex
     )
@@ -333,88 +241,41 @@ public class Traversal
             throw new VertexDoesNotExistException();
         }
 
-        final int INFINITY = Integer.MAX_VALUE;
-        int vertexNumber = directedGraph.getNumberOfVertices();
-        Map<Integer, List<Status>> statusMatrix = new HashMap<>(vertexNumber);
-
-        for (int vertex : directedGraph.parseVertices())
+        AbstractCompressedDirectedGraph compressedGraph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        if (!Dijkstra.hasNegativeCosts(compressedGraph))
         {
-            statusMatrix.put(vertex, new ArrayList<>(vertexNumber + 1));
-        }
-
-        for (Map.Entry<Integer, List<Status>> entry : statusMatrix.entrySet())
-        {
-            entry.getValue().add(new Status(INFINITY, null));
-        }
-        statusMatrix.get(startVertex).get(0).setCost(0);
-
-        for (int i = 1; i <= vertexNumber; i++)
-        {
-            for (int vertex : directedGraph.parseVertices())
-            {
-                Status minimum = new Status(INFINITY, null);
-
-                for (int neighbour : directedGraph.parseInboundEdges(vertex))
-                {
-                    int previousCost = statusMatrix.get(neighbour).get(i - 1).getCost();
-                    if (previousCost != INFINITY)
-                    {
-                        int cost = previousCost + directedGraph.getCost(neighbour, vertex);
-                        if (cost < minimum.getCost())
-                        {
-                            minimum.setCost(cost);
-                            minimum.setParent(neighbour);
-                        }
-                    }
-                }
-                statusMatrix.get(vertex).add(minimum);
-            }
+            return Dijkstra.lowestCostWalk(compressedGraph, startVertex, targetVertex);
         }
+        return BellmanFord.lowestCostWalk(compressedGraph, startVertex, targetVertex);
+    }
 
-        Status targetMinimum = new Status(INFINITY, null);
-        int targetLevel = 0;
-        for (int vertex : directedGraph.parseVertices())
+    /**
+     * Finds the lowest cost walk from the startingVertex to the targetVertex in the directedGraph.
+     * If no cost is negative, Dijkstra's algorithm is used; otherwise the levels of the Bellman-Ford algorithm
+     * are computed on the pool
+     *
+     * @return The lowest cost walk from the startingVertex to the targetVertex,
+     * an empty walk if there is no walk between the two
+     * or null if there are negative cost cycles reachable from the startingVertex
+     * @throws VertexDoesNotExistException if one of the given vertices is not in the graph
+     */
+    public static DTOCostWalk lowestCostWalk(
+            DirectedGraphView directedGraph,
+            int startVertex,
+            int targetVertex,
+            ForkJoinPool pool
+    )
+    {
+        if (!directedGraph.existsVertex(startVertex) || !directedGraph.existsVertex(targetVertex))
         {
-            List<Status> vertexStatusList = statusMatrix.get(vertex);
-            Status minimum = new Status(INFINITY, null);
-            int level = 0;
-            for (int i = 0; i < vertexNumber; i++)
-            {
-                Status status = vertexStatusList.get(i);
-                if (status.getCost() < minimum.getCost())
-                {
-                    minimum = status;
-                    level = i;
-                }
-            }
-            if (vertexStatusList.get(vertexNumber).cost < minimum.getCost())
-            {
-                return null;
-            }
-            if (vertex == targetVertex)
-            {
-                targetMinimum.cost = minimum.getCost();
-                targetMinimum.parent = minimum.getParent();
-                targetLevel = level;
-            }
+            throw new VertexDoesNotExistException();
         }
 
-        List<Integer> walk = new LinkedList<>();
-        DTOCostWalk result = new DTOCostWalk(targetMinimum.getCost(), walk);
-
-        if (targetMinimum.getCost() == INFINITY)
-        {
-            return result;
-        }
-        Status currentStatus;
-        Integer currentVertex = targetVertex;
-        while (currentVertex != null)
+        AbstractCompressedDirectedGraph compressedGraph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        if (!Dijkstra.hasNegativeCosts(compressedGraph))
         {
-            walk.add(0, currentVertex);
-            currentStatus = statusMatrix.get(currentVertex).get(targetLevel);
-            currentVertex = currentStatus.getParent();
-            targetLevel--;
+            return Dijkstra.lowestCostWalk(compressedGraph, startVertex, targetVertex);
         }
-        return result;
+        return BellmanFord.lowestCostWalk(compressedGraph, startVertex, targetVertex, pool);
     }
 }
@@ -0,0 +1,179 @@
+package graphs.collections;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min heap of the items 0..capacity-1 with long keys.
+ * Every item knows its position in the heap, so its key is lowered in logarithmic time
+ */
+public class IndexedLongMinHeap
+{
+    private static final int MISSING = -1;
+
+    /**
+     * The items, in heap order
+     */
+    private final int[] heap;
+    /**
+     * The position of every item in the heap, or MISSING if the item is not in the heap
+     */
+    private final int[] positions;
+    /**
+     * The key of every item
+     */
+    private final long[] keys;
+    private int size;
+
+    /**
+     * Creates an empty heap
+     * @param capacity The number of items, which are 0..capacity-1
+     */
+    public IndexedLongMinHeap(int capacity)
+    {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(positions, MISSING);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public boolean contains(int item)
+    {
+        return positions[item] != MISSING;
+    }
+
+    /**
+     * Gets the key of an item which is in the heap
+     */
+    public long getKey(int item)
+    {
+        return keys[item];
+    }
+
+    /**
+     * Inserts the item, or lowers its key if it is already in the heap with a greater key
+     * @param item The item
+     * @param key The key of the item
+     */
+    public void push(int item, long key)
+    {
+        int position = positions[item];
+        if (position == MISSING)
+        {
+            position = size++;
+        }
+        else if (key >= keys[item])
+        {
+            return;
+        }
+        keys[item] = key;
+        siftUp(item, position);
+    }
+
+    /**
+     * Gets the item with the smallest key, without removing it
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int peek()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        return heap[0];
+    }
+
+    /**
+     * Removes the item with the smallest key
+     * @return The item
+     * @throws NoSuchElementException if the heap is empty
+     */
+    public int poll()
+    {
+        if (size == 0)
+        {
+            throw new NoSuchElementException();
+        }
+        int first = heap[0];
+        positions[first] = MISSING;
+        int last = heap[--size];
+        if (size > 0)
+        {
+            siftDown(last, 0);
+        }
+        return first;
+    }
+
+    /**
+     * Removes all the items
+     */
+    public void clear()
+    {
+        for (int i = 0; i < size; i++)
+        {
+            positions[heap[i]] = MISSING;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves the item from the specified position towards the root, until its parent has a smaller key
+     */
+    private void siftUp(int item, int position)
+    {
+        long key = keys[item];
+        while (position > 0)
+        {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key)
+            {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+
+    /**
+     * Moves the item from the specified position towards the leaves, until its children have greater keys
+     */
+    private void siftDown(int item, int position)
+    {
+        long key = keys[item];
+        int half = size >>> 1;
+        while (position < half)
+        {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child])
+            {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= keys[child])
+            {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = item;
+        positions[item] = position;
+    }
+}
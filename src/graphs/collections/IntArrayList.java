@@ -0,0 +1,92 @@
+package graphs.collections;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints, without boxing
+ */
+public class IntArrayList
+{
+    private static final int MINIMUM_CAPACITY = 4;
+
+    private int[] elements;
+    private int size;
+
+    /**
+     * Creates an empty list
+     */
+    public IntArrayList()
+    {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with room for the specified number of elements
+     */
+    public IntArrayList(int initialCapacity)
+    {
+        elements = new int[Math.max(initialCapacity, MINIMUM_CAPACITY)];
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    public int get(int index)
+    {
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return elements[index];
+    }
+
+    public void set(int index, int element)
+    {
+        if (index >= size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        elements[index] = element;
+    }
+
+    public void add(int element)
+    {
+        if (size == elements.length)
+        {
+            elements = Arrays.copyOf(elements, 2 * size);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes and returns the last element
+     */
+    public int removeLast()
+    {
+        if (size == 0)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return elements[--size];
+    }
+
+    public void clear()
+    {
+        size = 0;
+    }
+
+    /**
+     * Copies the elements to a new array
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,207 @@
+package graphs.collections;
+
+/**
+ * Maps int keys to int values using open addressing with linear probing, without boxing
+ */
+public class IntIntHashMap
+{
+    private static final int FREE_KEY = 0;
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    /**
+     * The free key marks empty slots, so its mapping is kept separately
+     */
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    /**
+     * Creates an empty map
+     */
+    public IntIntHashMap()
+    {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map with room for the specified number of mappings
+     * @param expectedSize The number of mappings that can be added without resizing
+     */
+    public IntIntHashMap(int expectedSize)
+    {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the number of mappings in the map
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks if the specified key has a mapping
+     */
+    public boolean containsKey(int key)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey;
+        }
+        return keys[find(key)] != FREE_KEY;
+    }
+
+    /**
+     * Gets the value mapped to the specified key
+     * @param key The key to be searched
+     * @param missingValue The value to return if the key has no mapping
+     * @return The mapped value, or missingValue if the key has no mapping
+     */
+    public int get(int key, int missingValue)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey ? freeKeyValue : missingValue;
+        }
+        int slot = find(key);
+        return keys[slot] == FREE_KEY ? missingValue : values[slot];
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing any previous mapping
+     */
+    public void put(int key, int value)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE_KEY)
+        {
+            keys[slot] = key;
+            size++;
+            values[slot] = value;
+            if (2 * size > keys.length)
+            {
+                rehash(keys.length * 2);
+            }
+            return;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes the mapping of the specified key
+     * @return true if a mapping was removed, false otherwise
+     */
+    public boolean remove(int key)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                return false;
+            }
+            hasFreeKey = false;
+            size--;
+            return true;
+        }
+        int gap = find(key);
+        if (keys[gap] == FREE_KEY)
+        {
+            return false;
+        }
+        // shift back the entries of the probe sequence so no tombstones are needed
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != FREE_KEY)
+        {
+            int ideal = hash(keys[slot]) & mask;
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask))
+            {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Makes room for the specified number of mappings
+     */
+    public void ensureCapacity(int expectedSize)
+    {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length)
+        {
+            rehash(capacity);
+        }
+    }
+
+    /**
+     * Finds the slot holding the key, or the free slot where it would be inserted
+     */
+    private int find(int key)
+    {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity)
+    {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            int key = oldKeys[i];
+            if (key != FREE_KEY)
+            {
+                int slot = find(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize)
+    {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < 2L * expectedSize)
+        {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int hash(int key)
+    {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+}
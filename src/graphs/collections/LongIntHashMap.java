@@ -0,0 +1,279 @@
+package graphs.collections;
+
+/**
+ * Maps long keys to int values using open addressing with linear probing, without boxing.
+ * Lookups can return the index of a mapping, so that reading and replacing a value needs a single probe
+ */
+public class LongIntHashMap
+{
+    private static final long FREE_KEY = 0;
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;
+    /**
+     * The free key marks empty slots, so its mapping is kept separately, at the index keys.length
+     */
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    /**
+     * Creates an empty map
+     */
+    public LongIntHashMap()
+    {
+        this(MINIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates an empty map with room for the specified number of mappings
+     * @param expectedSize The number of mappings that can be added without resizing
+     */
+    public LongIntHashMap(int expectedSize)
+    {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Gets the number of mappings in the map
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks if the specified key has a mapping
+     */
+    public boolean containsKey(long key)
+    {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Gets the index of the mapping of the specified key
+     * @return The index, or -1 if the key has no mapping
+     */
+    public int indexOf(long key)
+    {
+        if (key == FREE_KEY)
+        {
+            return hasFreeKey ? keys.length : -1;
+        }
+        int slot = find(key);
+        return keys[slot] == FREE_KEY ? -1 : slot;
+    }
+
+    /**
+     * Gets the value of the mapping with the specified index
+     */
+    public int indexGet(int index)
+    {
+        return index == keys.length ? freeKeyValue : values[index];
+    }
+
+    /**
+     * Replaces the value of the mapping with the specified index
+     */
+    public void indexReplace(int index, int value)
+    {
+        if (index == keys.length)
+        {
+            freeKeyValue = value;
+        }
+        else
+        {
+            values[index] = value;
+        }
+    }
+
+    /**
+     * Gets the value mapped to the specified key
+     * @param key The key to be searched
+     * @param missingValue The value to return if the key has no mapping
+     * @return The mapped value, or missingValue if the key has no mapping
+     */
+    public int get(long key, int missingValue)
+    {
+        int index = indexOf(key);
+        return index < 0 ? missingValue : indexGet(index);
+    }
+
+    /**
+     * Maps the specified key to the specified value, replacing any previous mapping
+     */
+    public void put(long key, int value)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                hasFreeKey = true;
+                size++;
+            }
+            freeKeyValue = value;
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == FREE_KEY)
+        {
+            keys[slot] = key;
+            size++;
+            values[slot] = value;
+            if (2 * size > keys.length)
+            {
+                rehash(keys.length * 2);
+            }
+            return;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Removes the mapping of the specified key
+     * @return true if a mapping was removed, false otherwise
+     */
+    public boolean remove(long key)
+    {
+        if (key == FREE_KEY)
+        {
+            if (!hasFreeKey)
+            {
+                return false;
+            }
+            hasFreeKey = false;
+            size--;
+            return true;
+        }
+        int gap = find(key);
+        if (keys[gap] == FREE_KEY)
+        {
+            return false;
+        }
+        // shift back the entries of the probe sequence so no tombstones are needed
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != FREE_KEY)
+        {
+            int ideal = hash(keys[slot]) & mask;
+            if (((slot - ideal) & mask) >= ((slot - gap) & mask))
+            {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = FREE_KEY;
+        size--;
+        return true;
+    }
+
+    /**
+     * Makes room for the specified number of mappings
+     */
+    public void ensureCapacity(int expectedSize)
+    {
+        int capacity = capacityFor(expectedSize);
+        if (capacity > keys.length)
+        {
+            rehash(capacity);
+        }
+    }
+
+    /**
+     * Creates a cursor over the mappings; the map must not be modified while the cursor is used
+     */
+    public Cursor cursor()
+    {
+        return new Cursor();
+    }
+
+    /**
+     * Finds the slot holding the key, or the free slot where it would be inserted
+     */
+    private int find(long key)
+    {
+        int slot = hash(key) & mask;
+        while (keys[slot] != FREE_KEY && keys[slot] != key)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity)
+    {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++)
+        {
+            long key = oldKeys[i];
+            if (key != FREE_KEY)
+            {
+                int slot = find(key);
+                keys[slot] = key;
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity)
+    {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize)
+    {
+        int capacity = MINIMUM_CAPACITY;
+        while (capacity < 2L * expectedSize)
+        {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key)
+    {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Walks over the mappings of the map
+     */
+    public class Cursor
+    {
+        private int index = -1;
+
+        /**
+         * Moves to the next mapping
+         * @return true if there is a next mapping, false otherwise
+         */
+        public boolean next()
+        {
+            while (++index < keys.length)
+            {
+                if (keys[index] != FREE_KEY)
+                {
+                    return true;
+                }
+            }
+            return index == keys.length && hasFreeKey;
+        }
+
+        public long key()
+        {
+            return index == keys.length ? FREE_KEY : keys[index];
+        }
+
+        public int value()
+        {
+            return indexGet(index);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package graphs.collections;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint sets of the items 0..size-1, with union by rank and path compression,
+ * so a sequence of operations runs in almost linear time.
+ * New items can be added, and a set can be split back into single items
+ */
+public class UnionFind
+{
+    /**
+     * The parent of every item; the roots are their own parents and represent their sets
+     */
+    private int[] parents;
+    /**
+     * An upper bound of the height of the tree of every root
+     */
+    private byte[] ranks;
+    /**
+     * The next item of the same set, the items of every set forming a circular list
+     */
+    private int[] next;
+    private int size;
+    private int setNumber;
+
+    /**
+     * Creates a structure where every item is alone in its set
+     * @param capacity The number of items, which are 0..capacity-1
+     */
+    public UnionFind(int capacity)
+    {
+        parents = new int[capacity];
+        ranks = new byte[capacity];
+        next = new int[capacity];
+        for (int item = 0; item < capacity; item++)
+        {
+            parents[item] = item;
+            next[item] = item;
+        }
+        size = capacity;
+        setNumber = capacity;
+    }
+
+    /**
+     * Adds a new item, alone in its set
+     * @return The new item, which is the previous number of items
+     */
+    public int add()
+    {
+        if (size == parents.length)
+        {
+            int capacity = Math.max(8, size * 2);
+            parents = Arrays.copyOf(parents, capacity);
+            ranks = Arrays.copyOf(ranks, capacity);
+            next = Arrays.copyOf(next, capacity);
+        }
+        int item = size++;
+        parents[item] = item;
+        ranks[item] = 0;
+        next[item] = item;
+        setNumber++;
+        return item;
+    }
+
+    /**
+     * Gets the number of items
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gets the number of disjoint sets
+     */
+    public int getNumberOfSets()
+    {
+        return setNumber;
+    }
+
+    /**
+     * Finds the representative of the set of the item, pointing every item on the way directly to it
+     */
+    public int find(int item)
+    {
+        int root = item;
+        while (parents[root] != root)
+        {
+            root = parents[root];
+        }
+        while (parents[item] != root)
+        {
+            int parent = parents[item];
+            parents[item] = root;
+            item = parent;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the sets of the two items, hanging the lower tree under the higher one
+     * @return true if the items were in different sets, false otherwise
+     */
+    public boolean union(int item1, int item2)
+    {
+        int root1 = find(item1);
+        int root2 = find(item2);
+        if (root1 == root2)
+        {
+            return false;
+        }
+        if (ranks[root1] < ranks[root2])
+        {
+            parents[root1] = root2;
+        }
+        else if (ranks[root1] > ranks[root2])
+        {
+            parents[root2] = root1;
+        }
+        else
+        {
+            parents[root2] = root1;
+            ranks[root1]++;
+        }
+        // joins the two circular lists into one
+        int next1 = next[root1];
+        next[root1] = next[root2];
+        next[root2] = next1;
+        setNumber--;
+        return true;
+    }
+
+    /**
+     * Checks if the two items are in the same set
+     */
+    public boolean connected(int item1, int item2)
+    {
+        return find(item1) == find(item2);
+    }
+
+    /**
+     * Gets the next item of the set of the specified item; starting from any item of a set,
+     * the items of the set are all visited before coming back to it
+     */
+    public int nextInSet(int item)
+    {
+        return next[item];
+    }
+
+    /**
+     * Splits the set of the specified item, putting every one of its items alone in a set
+     * @return The items of the set
+     */
+    public IntArrayList split(int item)
+    {
+        IntArrayList items = new IntArrayList();
+        int member = item;
+        do
+        {
+            items.add(member);
+            member = next[member];
+        }
+        while (member != item);
+        for (int i = 0; i < items.size(); i++)
+        {
+            member = items.get(i);
+            parents[member] = member;
+            ranks[member] = 0;
+            next[member] = member;
+        }
+        setNumber += items.size() - 1;
+        return items;
+    }
+}
@@ -0,0 +1,5 @@
+package graphs.exceptions;
+
+public class NegativeCostException extends RuntimeException
+{
+}
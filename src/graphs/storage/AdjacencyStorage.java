@@ -0,0 +1,35 @@
+package graphs.storage;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * Maps the vertices of a graph to the list of their neighbours.
+ * The storage does not validate its arguments, the graph classes are responsible for that
+ */
+public interface AdjacencyStorage
+{
+    int getNumberOfVertices();
+
+    boolean containsVertex(int vertex);
+
+    void addVertex(int vertex);
+
+    void removeVertex(int vertex);
+
+    Iterable<Integer> vertices();
+
+    void addNeighbour(int vertex, int neighbour);
+
+    void ensureCapacity(int vertex, int degree);
+
+    void removeNeighbour(int vertex, int neighbour);
+
+    int degree(int vertex);
+
+    Iterable<Integer> neighbours(int vertex);
+
+    /**
+     * Iterates over the neighbours of the vertex as ints, without boxing them if the storage keeps ints
+     */
+    PrimitiveIterator.OfInt neighbourIterator(int vertex);
+}
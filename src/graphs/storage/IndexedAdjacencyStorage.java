@@ -0,0 +1,66 @@
+package graphs.storage;
+
+import graphs.EdgeKey;
+import graphs.collections.LongIntHashMap;
+
+/**
+ * Primitive adjacency storage which also tracks the position of every neighbour in its buffer.
+ * A neighbour is removed by moving the last neighbour in its place, in constant expected time,
+ * so the order of the neighbours is not preserved by removals
+ */
+public class IndexedAdjacencyStorage extends PrimitiveAdjacencyStorage
+{
+    /**
+     * Maps the (vertex, neighbour) pairs, packed with EdgeKey, to the position of the neighbour in the buffer
+     */
+    private final LongIntHashMap positions;
+
+    public IndexedAdjacencyStorage(int initialVertexNumber)
+    {
+        super(initialVertexNumber);
+        positions = new LongIntHashMap(initialVertexNumber);
+    }
+
+    @Override
+    public void removeVertex(int vertex)
+    {
+        int slot = slots.get(vertex, MISSING);
+        int[] buffer = buffers[slot];
+        for (int i = 0; i < sizes[slot]; i++)
+        {
+            positions.remove(EdgeKey.of(vertex, buffer[i]));
+        }
+        super.removeVertex(vertex);
+    }
+
+    @Override
+    public void addNeighbour(int vertex, int neighbour)
+    {
+        int slot = slots.get(vertex, MISSING);
+        positions.put(EdgeKey.of(vertex, neighbour), sizes[slot]);
+        super.addNeighbour(vertex, neighbour);
+    }
+
+    @Override
+    public void removeNeighbour(int vertex, int neighbour)
+    {
+        long key = EdgeKey.of(vertex, neighbour);
+        int index = positions.indexOf(key);
+        if (index < 0)
+        {
+            return;
+        }
+        int position = positions.indexGet(index);
+        positions.remove(key);
+
+        int slot = slots.get(vertex, MISSING);
+        int[] buffer = buffers[slot];
+        int last = sizes[slot] - 1;
+        if (position != last)
+        {
+            buffer[position] = buffer[last];
+            positions.put(EdgeKey.of(vertex, buffer[position]), position);
+        }
+        sizes[slot] = last;
+    }
+}
@@ -0,0 +1,105 @@
+package graphs.storage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+/**
+ * Adjacency storage backed by a HashMap of ArrayLists
+ */
+public class ListAdjacencyStorage implements AdjacencyStorage
+{
+    private final Map<Integer, ArrayList<Integer>> neighbours;
+
+    public ListAdjacencyStorage(int initialVertexNumber)
+    {
+        neighbours = new HashMap<>(initialVertexNumber);
+    }
+
+    @Override
+    public int getNumberOfVertices()
+    {
+        return neighbours.size();
+    }
+
+    @Override
+    public boolean containsVertex(int vertex)
+    {
+        return neighbours.containsKey(vertex);
+    }
+
+    @Override
+    public void addVertex(int vertex)
+    {
+        neighbours.put(vertex, new ArrayList<>());
+    }
+
+    @Override
+    public void removeVertex(int vertex)
+    {
+        neighbours.remove(vertex);
+    }
+
+    @Override
+    public Iterable<Integer> vertices()
+    {
+        return Collections.unmodifiableSet(neighbours.keySet());
+    }
+
+    @Override
+    public void addNeighbour(int vertex, int neighbour)
+    {
+        neighbours.get(vertex).add(neighbour);
+    }
+
+    @Override
+    public void ensureCapacity(int vertex, int degree)
+    {
+        neighbours.get(vertex).ensureCapacity(degree);
+    }
+
+    @Override
+    public void removeNeighbour(int vertex, int neighbour)
+    {
+        neighbours.get(vertex).remove(Integer.valueOf(neighbour));
+    }
+
+    @Override
+    public int degree(int vertex)
+    {
+        return neighbours.get(vertex).size();
+    }
+
+    @Override
+    public Iterable<Integer> neighbours(int vertex)
+    {
+        return Collections.unmodifiableList(neighbours.get(vertex));
+    }
+
+    /**
+     * The neighbours are kept boxed, so they are unboxed one by one
+     */
+    @Override
+    public PrimitiveIterator.OfInt neighbourIterator(int vertex)
+    {
+        Iterator<Integer> iterator = neighbours.get(vertex).iterator();
+        return new PrimitiveIterator.OfInt()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public int nextInt()
+            {
+                return iterator.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package graphs.storage;
+
+import graphs.collections.IntIntHashMap;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Adjacency storage which maps every vertex to a slot with an open addressing int map.
+ * Every slot owns a growable int array with the neighbours of its vertex, so no values are boxed
+ */
+public class PrimitiveAdjacencyStorage implements AdjacencyStorage
+{
+    private static final int INITIAL_BUFFER_SIZE = 4;
+    protected static final int MISSING = -1;
+
+    /**
+     * Maps the vertices to their slots
+     */
+    protected final IntIntHashMap slots;
+    /**
+     * The neighbour buffer of every slot
+     */
+    protected int[][] buffers;
+    /**
+     * The number of neighbours of every slot, or MISSING if the slot is free
+     */
+    protected int[] sizes;
+    /**
+     * The vertex of every slot
+     */
+    private int[] slotVertices;
+    /**
+     * The number of slots that were ever used
+     */
+    private int slotCount;
+    /**
+     * The slots released by removed vertices, reused before new slots are allocated
+     */
+    private int[] freeSlots;
+    private int freeSlotCount;
+
+    public PrimitiveAdjacencyStorage(int initialVertexNumber)
+    {
+        int capacity = Math.max(initialVertexNumber, INITIAL_BUFFER_SIZE);
+        slots = new IntIntHashMap(capacity);
+        buffers = new int[capacity][];
+        sizes = new int[capacity];
+        slotVertices = new int[capacity];
+        freeSlots = new int[INITIAL_BUFFER_SIZE];
+    }
+
+    @Override
+    public int getNumberOfVertices()
+    {
+        return slots.size();
+    }
+
+    @Override
+    public boolean containsVertex(int vertex)
+    {
+        return slots.containsKey(vertex);
+    }
+
+    @Override
+    public void addVertex(int vertex)
+    {
+        int slot;
+        if (freeSlotCount > 0)
+        {
+            slot = freeSlots[--freeSlotCount];
+        }
+        else
+        {
+            if (slotCount == sizes.length)
+            {
+                int capacity = 2 * slotCount;
+                buffers = Arrays.copyOf(buffers, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                slotVertices = Arrays.copyOf(slotVertices, capacity);
+            }
+            slot = slotCount++;
+        }
+        buffers[slot] = new int[INITIAL_BUFFER_SIZE];
+        sizes[slot] = 0;
+        slotVertices[slot] = vertex;
+        slots.put(vertex, slot);
+    }
+
+    @Override
+    public void removeVertex(int vertex)
+    {
+        int slot = slots.get(vertex, MISSING);
+        slots.remove(vertex);
+        buffers[slot] = null;
+        sizes[slot] = MISSING;
+        if (freeSlotCount == freeSlots.length)
+        {
+            freeSlots = Arrays.copyOf(freeSlots, 2 * freeSlotCount);
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    @Override
+    public Iterable<Integer> vertices()
+    {
+        return () -> new PrimitiveIterator.OfInt()
+        {
+            private int slot = nextUsedSlot(0);
+
+            @Override
+            public boolean hasNext()
+            {
+                return slot < slotCount;
+            }
+
+            @Override
+            public int nextInt()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                int vertex = slotVertices[slot];
+                slot = nextUsedSlot(slot + 1);
+                return vertex;
+            }
+        };
+    }
+
+    private int nextUsedSlot(int slot)
+    {
+        while (slot < slotCount && sizes[slot] == MISSING)
+        {
+            slot++;
+        }
+        return slot;
+    }
+
+    @Override
+    public void addNeighbour(int vertex, int neighbour)
+    {
+        int slot = slots.get(vertex, MISSING);
+        int[] buffer = buffers[slot];
+        int size = sizes[slot];
+        if (size == buffer.length)
+        {
+            buffer = Arrays.copyOf(buffer, 2 * size);
+            buffers[slot] = buffer;
+        }
+        buffer[size] = neighbour;
+        sizes[slot] = size + 1;
+    }
+
+    @Override
+    public void ensureCapacity(int vertex, int degree)
+    {
+        int slot = slots.get(vertex, MISSING);
+        if (buffers[slot].length < degree)
+        {
+            buffers[slot] = Arrays.copyOf(buffers[slot], Math.max(degree, 2 * buffers[slot].length));
+        }
+    }
+
+    @Override
+    public void removeNeighbour(int vertex, int neighbour)
+    {
+        int slot = slots.get(vertex, MISSING);
+        int[] buffer = buffers[slot];
+        int size = sizes[slot];
+        for (int i = 0; i < size; i++)
+        {
+            if (buffer[i] == neighbour)
+            {
+                System.arraycopy(buffer, i + 1, buffer, i, size - i - 1);
+                sizes[slot] = size - 1;
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int degree(int vertex)
+    {
+        return sizes[slots.get(vertex, MISSING)];
+    }
+
+    @Override
+    public Iterable<Integer> neighbours(int vertex)
+    {
+        int slot = slots.get(vertex, MISSING);
+        return () -> slotIterator(slot);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt neighbourIterator(int vertex)
+    {
+        return slotIterator(slots.get(vertex, MISSING));
+    }
+
+    private PrimitiveIterator.OfInt slotIterator(int slot)
+    {
+        return new PrimitiveIterator.OfInt()
+        {
+            private int position = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return position < sizes[slot];
+            }
+
+            @Override
+            public int nextInt()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return buffers[slot][position++];
+            }
+        };
+    }
+}
@@ -0,0 +1,39 @@
+package graphs.storage;
+
+/**
+ * The available adjacency storage engines
+ */
+public enum StorageType
+{
+    /**
+     * A HashMap of ArrayLists of boxed vertices
+     */
+    LIST,
+    /**
+     * An open addressing int map of growable int arrays, which does not box the vertices
+     */
+    PRIMITIVE,
+    /**
+     * Primitive storage which tracks the position of every neighbour, so it is removed in constant expected time.
+     * Removals do not preserve the order of the neighbours
+     */
+    INDEXED;
+
+    /**
+     * Creates an empty storage of this type
+     * @param initialVertexNumber The number of vertices to allocate space for
+     * @return The new storage
+     */
+    public AdjacencyStorage createStorage(int initialVertexNumber)
+    {
+        switch (this)
+        {
+            case PRIMITIVE:
+                return new PrimitiveAdjacencyStorage(initialVertexNumber);
+            case INDEXED:
+                return new IndexedAdjacencyStorage(initialVertexNumber);
+            default:
+                return new ListAdjacencyStorage(initialVertexNumber);
+        }
+    }
+}
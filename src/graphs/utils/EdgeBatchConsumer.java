@@ -0,0 +1,17 @@
+package graphs.utils;
+
+/**
+ * Receives the edges read from a file, in batches of parallel arrays
+ */
+@FunctionalInterface
+public interface EdgeBatchConsumer
+{
+    /**
+     * Receives a batch of edges; the arrays are reused for the next batch
+     * @param vertices1 The vertices from where the edges start
+     * @param vertices2 The vertices where the edges end
+     * @param costs The costs of the edges
+     * @param count The number of edges in the batch, stored at the start of the arrays
+     */
+    void accept(int[] vertices1, int[] vertices2, int[] costs, int count);
+}
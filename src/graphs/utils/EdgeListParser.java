@@ -0,0 +1,196 @@
+package graphs.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads whitespace separated integers from a channel, decoding the bytes by hand instead of using regular expressions.
+ * Used to read the "V E" header and the "vertex1 vertex2 cost" lines of the graph files
+ */
+public class EdgeListParser implements Closeable
+{
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ReadableByteChannel channel;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfInput = false;
+
+    /**
+     * Creates a parser reading from the specified channel
+     */
+    public EdgeListParser(ReadableByteChannel channel)
+    {
+        this(channel, BUFFER_SIZE);
+    }
+
+    EdgeListParser(ReadableByteChannel channel, int bufferSize)
+    {
+        this.channel = channel;
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Reads the next integer
+     * @return The integer
+     * @throws NoSuchElementException if there are no more integers
+     * @throws InputMismatchException if the next token is not an integer
+     * @throws UncheckedIOException if the channel cannot be read
+     */
+    public int nextInt()
+    {
+        int current = skipWhitespace();
+        if (current < 0)
+        {
+            throw new NoSuchElementException();
+        }
+        boolean negative = false;
+        if (current == '-' || current == '+')
+        {
+            negative = current == '-';
+            position++;
+            current = peek();
+        }
+        if (current < '0' || current > '9')
+        {
+            throw new InputMismatchException();
+        }
+        // accumulated as a negative number, so that Integer.MIN_VALUE fits
+        long value = 0;
+        while (current >= '0' && current <= '9')
+        {
+            value = value * 10 - (current - '0');
+            if (value < Integer.MIN_VALUE)
+            {
+                throw new InputMismatchException();
+            }
+            position++;
+            // fast path while the token is inside the buffer
+            while (position < limit && (current = bytes[position]) >= '0' && current <= '9')
+            {
+                value = value * 10 - (current - '0');
+                if (value < Integer.MIN_VALUE)
+                {
+                    throw new InputMismatchException();
+                }
+                position++;
+            }
+            current = peek();
+        }
+        if (current > ' ')
+        {
+            throw new InputMismatchException();
+        }
+        if (!negative)
+        {
+            value = -value;
+            if (value > Integer.MAX_VALUE)
+            {
+                throw new InputMismatchException();
+            }
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads up to count edges, each given as three integers: vertex1, vertex2 and cost
+     * @return The number of edges read, smaller than count only if the input ended
+     */
+    public int readEdges(int[] vertices1, int[] vertices2, int[] costs, int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            if (skipWhitespace() < 0)
+            {
+                return i;
+            }
+            vertices1[i] = nextInt();
+            vertices2[i] = nextInt();
+            costs[i] = nextInt();
+        }
+        return count;
+    }
+
+    /**
+     * Checks if there are more integers to read
+     */
+    public boolean hasNext()
+    {
+        return skipWhitespace() >= 0;
+    }
+
+    /**
+     * Skips the whitespace before the next token
+     * @return The first byte of the token, or -1 if the input ended
+     */
+    private int skipWhitespace()
+    {
+        while (position < limit && bytes[position] >= 0 && bytes[position] <= ' ')
+        {
+            position++;
+        }
+        int current = peek();
+        while (current >= 0 && current <= ' ')
+        {
+            position++;
+            current = peek();
+        }
+        return current;
+    }
+
+    /**
+     * Gets the current byte without consuming it
+     * @return The byte, or -1 if the input ended
+     */
+    private int peek()
+    {
+        if (position == limit && !fill())
+        {
+            return -1;
+        }
+        return bytes[position] & 0xFF;
+    }
+
+    private boolean fill()
+    {
+        if (endOfInput)
+        {
+            return false;
+        }
+        try
+        {
+            buffer.clear();
+            int read = 0;
+            while (read == 0)
+            {
+                read = channel.read(buffer);
+            }
+            if (read < 0)
+            {
+                endOfInput = true;
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+}
@@ -0,0 +1,133 @@
+package graphs.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes the "V E" header and the "vertex1 vertex2 cost" lines of the graph files to a channel,
+ * formatting the integers by hand into a reusable buffer instead of using format strings
+ */
+public class EdgeListWriter implements Closeable
+{
+    private static final int BUFFER_SIZE = 1 << 16;
+    // the longest line: three ints of 11 characters each, two spaces and the newline
+    private static final int MAXIMUM_LINE_LENGTH = 3 * 11 + 3;
+
+    private final WritableByteChannel channel;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position = 0;
+
+    /**
+     * Creates a writer writing to the specified channel
+     */
+    public EdgeListWriter(WritableByteChannel channel)
+    {
+        this.channel = channel;
+        this.bytes = new byte[BUFFER_SIZE];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Writes the header line
+     * @param vertexNumber The number of vertices
+     * @param edgeNumber The number of edges
+     * @throws UncheckedIOException if the channel cannot be written
+     */
+    public void writeHeader(int vertexNumber, int edgeNumber)
+    {
+        reserveLine();
+        writeInt(vertexNumber);
+        bytes[position++] = ' ';
+        writeInt(edgeNumber);
+        bytes[position++] = '\n';
+    }
+
+    /**
+     * Writes an edge line
+     * @param vertex1 The vertex from where the edge starts
+     * @param vertex2 The vertex where the edge ends
+     * @param cost The cost of the edge
+     * @throws UncheckedIOException if the channel cannot be written
+     */
+    public void writeEdge(int vertex1, int vertex2, int cost)
+    {
+        reserveLine();
+        writeInt(vertex1);
+        bytes[position++] = ' ';
+        writeInt(vertex2);
+        bytes[position++] = ' ';
+        writeInt(cost);
+        bytes[position++] = '\n';
+    }
+
+    /**
+     * Writes the buffered lines to the channel
+     */
+    public void flush() throws IOException
+    {
+        buffer.clear();
+        buffer.limit(position);
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+        position = 0;
+    }
+
+    private void reserveLine()
+    {
+        if (bytes.length - position < MAXIMUM_LINE_LENGTH)
+        {
+            try
+            {
+                flush();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void writeInt(int value)
+    {
+        // widened, so that the magnitude of Integer.MIN_VALUE fits
+        long magnitude = value;
+        if (magnitude < 0)
+        {
+            bytes[position++] = '-';
+            magnitude = -magnitude;
+        }
+        int length = 1;
+        for (long rest = magnitude / 10; rest != 0; rest /= 10)
+        {
+            length++;
+        }
+        for (int i = position + length - 1; i >= position; i--)
+        {
+            bytes[i] = (byte) ('0' + magnitude % 10);
+            magnitude /= 10;
+        }
+        position += length;
+    }
+
+    /**
+     * Flushes the buffered lines and closes the channel
+     */
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            flush();
+        }
+        finally
+        {
+            channel.close();
+        }
+    }
+}
@@ -1,77 +1,466 @@
 package graphs.utils;
 
+import graphs.AbstractCompressedDirectedGraph;
+import graphs.CompressedDirectedGraph;
 import graphs.DirectedGraph;
+import graphs.DirectedGraphView;
+import graphs.DuplicatePolicy;
+import graphs.Graph;
+import graphs.MappedDirectedGraph;
 import graphs.UndirectedGraph;
-import graphs.VertexPair;
-import graphs.exceptions.CannotHaveLoopsException;
+import graphs.algorithms.Johnson;
 import graphs.exceptions.EdgeAlreadyExistsException;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
-import java.util.Scanner;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 public class FileUtils
 {
+    /**
+     * Binary graph files start with the magic number, the format version, the number of vertices and
+     * the number of edges, followed by the compressed sparse row sections: vertices, outbound offsets,
+     * outbound targets, outbound costs, inbound offsets, inbound sources and inbound costs.
+     * All the values are little endian ints
+     */
+    private static final int BINARY_MAGIC = 0x48505247;
+    private static final int DISTANCES_MAGIC = 0x54534944;
+    private static final int BINARY_VERSION = 1;
+    private static final int BINARY_HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final int EDGE_BATCH_SIZE = 1 << 12;
+    private static final int GZIP_BUFFER_SIZE = 1 << 16;
+    private static final String GZIP_EXTENSION = ".gz";
+
     public static DirectedGraph createDirectedGraphFromFile(String fileName) throws FileNotFoundException
+    {
+        try (EdgeListParser parser = openParser(fileName))
+        {
+            int vertexNumber = parser.nextInt();
+            int edgeNumber = parser.nextInt();
+            DirectedGraph directedGraph = new DirectedGraph(vertexNumber, edgeNumber);
+            readEdges(parser, edgeNumber, (vertices1, vertices2, costs, count) ->
+                    addDirectedEdges(directedGraph, trim(vertices1, count), trim(vertices2, count), trim(costs, count))
+            );
+            return directedGraph;
+        }
+        catch (FileNotFoundException e)
+        {
+            throw e;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the graph in the text format; the file is compressed with gzip if its name ends with .gz
+     * @param directedGraph The graph to be written
+     * @param fileName The graph file
+     */
+    public static void writeDirectedGraphToFile(DirectedGraphView directedGraph, String fileName) throws IOException
+    {
+        writeGraphToFile(directedGraph, fileName);
+    }
+
+    /**
+     * Writes the graph in the text format, every edge once; the file is compressed with gzip if its name ends with .gz
+     * @param undirectedGraph The graph to be written
+     * @param fileName The graph file
+     */
+    public static void writeUndirectedGraphToFile(UndirectedGraph undirectedGraph, String fileName) throws IOException
+    {
+        writeGraphToFile(undirectedGraph, fileName);
+    }
+
+    private static void writeGraphToFile(Graph graph, String fileName) throws IOException
+    {
+        try (EdgeListWriter writer = new EdgeListWriter(openOutputChannel(fileName)))
+        {
+            writer.writeHeader(graph.getNumberOfVertices(), graph.getNumberOfEdges());
+            graph.forEachEdge(writer::writeEdge);
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    public static UndirectedGraph createUndirectedGraphFromFile(String fileName) throws FileNotFoundException
+    {
+        try (EdgeListParser parser = openParser(fileName))
+        {
+            int vertexNumber = parser.nextInt();
+            int edgeNumber = parser.nextInt();
+            UndirectedGraph undirectedGraph = new UndirectedGraph(vertexNumber, edgeNumber);
+            readEdges(parser, edgeNumber, (vertices1, vertices2, costs, count) ->
+                    undirectedGraph.addEdges(
+                            trim(vertices1, count),
+                            trim(vertices2, count),
+                            trim(costs, count),
+                            DuplicatePolicy.SKIP
+                    )
+            );
+            return undirectedGraph;
+        }
+        catch (FileNotFoundException e)
+        {
+            throw e;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static EdgeListParser openParser(String fileName) throws IOException
     {
         File file = new File(fileName);
         if (!file.exists())
         {
             throw new FileNotFoundException();
         }
-        Scanner scanner = new Scanner(file);
-        int vertexNumber = scanner.nextInt();
-        int edgeNumber = scanner.nextInt();
-        DirectedGraph directedGraph = new DirectedGraph(vertexNumber, edgeNumber);
-        for (int i = 0; i < edgeNumber; i++)
+        return new EdgeListParser(openInputChannel(file));
+    }
+
+    static boolean isGzipFile(String fileName)
+    {
+        return fileName.endsWith(GZIP_EXTENSION);
+    }
+
+    static ReadableByteChannel openInputChannel(File file) throws IOException
+    {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        if (!isGzipFile(file.getName()))
+        {
+            return channel;
+        }
+        return Channels.newChannel(new GZIPInputStream(Channels.newInputStream(channel), GZIP_BUFFER_SIZE));
+    }
+
+    private static WritableByteChannel openOutputChannel(String fileName) throws IOException
+    {
+        FileChannel channel = FileChannel.open(
+                Paths.get(fileName),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        );
+        if (!isGzipFile(fileName))
+        {
+            return channel;
+        }
+        return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), GZIP_BUFFER_SIZE));
+    }
+
+    /**
+     * Adds the edges read from a file to a directed graph; like addEdge, a duplicate edge is an error
+     * @throws EdgeAlreadyExistsException if the edges contain a duplicate
+     */
+    private static void addDirectedEdges(DirectedGraph directedGraph, int[] vertices1, int[] vertices2, int[] costs)
+    {
+        if (directedGraph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.REJECT).isRejected())
         {
-            int vertex1 = scanner.nextInt();
-            int vertex2 = scanner.nextInt();
-            int cost = scanner.nextInt();
-            directedGraph.addEdge(vertex1, vertex2, cost);
+            throw new EdgeAlreadyExistsException();
         }
-        scanner.close();
+    }
+
+    private static int[] trim(int[] array, int length)
+    {
+        return array.length == length ? array : Arrays.copyOf(array, length);
+    }
+
+    /**
+     * Reads the specified number of edges and passes them to the consumer in batches
+     * @throws NoSuchElementException if the input has fewer edges
+     */
+    private static void readEdges(EdgeListParser parser, int edgeNumber, EdgeBatchConsumer consumer)
+    {
+        int batchSize = Math.min(edgeNumber, EDGE_BATCH_SIZE);
+        int[] vertices1 = new int[batchSize];
+        int[] vertices2 = new int[batchSize];
+        int[] costs = new int[batchSize];
+        int remaining = edgeNumber;
+        while (remaining > 0)
+        {
+            int count = parser.readEdges(vertices1, vertices2, costs, Math.min(remaining, batchSize));
+            if (count == 0)
+            {
+                throw new NoSuchElementException();
+            }
+            consumer.accept(vertices1, vertices2, costs, count);
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Reads a graph file like createDirectedGraphFromFile, parsing the file in parallel on the common ForkJoinPool
+     * @param fileName The graph file
+     * @return The new directedGraph object
+     */
+    public static DirectedGraph createDirectedGraphFromFileParallel(String fileName) throws FileNotFoundException
+    {
+        ParallelEdgeListReader.EdgeList edgeList = readEdgesParallel(fileName);
+        DirectedGraph directedGraph = new DirectedGraph(edgeList.vertexNumber, edgeList.vertices1.length);
+        addDirectedEdges(directedGraph, edgeList.vertices1, edgeList.vertices2, edgeList.costs);
         return directedGraph;
     }
 
-    public static void writeDirectedGraphToFile(DirectedGraph directedGraph, String fileName) throws IOException
+    /**
+     * Reads a graph file like createUndirectedGraphFromFile, parsing the file in parallel on the common ForkJoinPool
+     * @param fileName The graph file
+     * @return The new undirectedGraph object
+     */
+    public static UndirectedGraph createUndirectedGraphFromFileParallel(String fileName) throws FileNotFoundException
+    {
+        ParallelEdgeListReader.EdgeList edgeList = readEdgesParallel(fileName);
+        UndirectedGraph undirectedGraph = new UndirectedGraph(edgeList.vertexNumber, edgeList.vertices1.length);
+        undirectedGraph.addEdges(edgeList.vertices1, edgeList.vertices2, edgeList.costs, DuplicatePolicy.SKIP);
+        return undirectedGraph;
+    }
+
+    /**
+     * Reads a graph file straight into the compressed form, parsing the file in parallel on the common ForkJoinPool.
+     * The vertices of the graph are 0..V-1, where V is the number of vertices in the header of the file
+     * @param fileName The graph file
+     * @return The read-only graph
+     */
+    public static CompressedDirectedGraph createCompressedDirectedGraphFromFileParallel(String fileName)
+            throws FileNotFoundException
     {
-        FileWriter fileWriter = new FileWriter(fileName);
-        PrintWriter writer = new PrintWriter(fileWriter);
-        writer.printf("%d %d\n", directedGraph.getNumberOfVertices(), directedGraph.getNumberOfEdges());
-        for (VertexPair edge : directedGraph.parseEdges())
+        ParallelEdgeListReader.EdgeList edgeList = readEdgesParallel(fileName);
+        return CompressedDirectedGraph.fromEdges(
+                edgeList.vertexNumber,
+                edgeList.vertices1,
+                edgeList.vertices2,
+                edgeList.costs
+        );
+    }
+
+    private static ParallelEdgeListReader.EdgeList readEdgesParallel(String fileName) throws FileNotFoundException
+    {
+        try
+        {
+            return ParallelEdgeListReader.read(
+                    fileName,
+                    ForkJoinPool.commonPool(),
+                    ParallelEdgeListReader.DEFAULT_CHUNK_SIZE
+            );
+        }
+        catch (FileNotFoundException e)
         {
-            int cost = directedGraph.getCost(edge.getVertex1(), edge.getVertex2());
-            writer.printf("%d %d %d\n", edge.getVertex1(), edge.getVertex2(), cost);
+            throw e;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
         }
-        writer.close();
     }
 
-    public static UndirectedGraph createUndirectedGraphFromFile(String fileName) throws FileNotFoundException
+    public static void writeDirectedGraphToBinaryFile(DirectedGraphView directedGraph, String fileName) throws IOException
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        int edgeNumber = graph.getNumberOfEdges();
+        try (FileChannel channel = FileChannel.open(
+                Paths.get(fileName),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        ))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(BINARY_MAGIC).putInt(BINARY_VERSION).putInt(vertexNumber).putInt(edgeNumber);
+            writeSection(channel, buffer, vertexNumber, graph::vertexAt);
+            writeSection(channel, buffer, vertexNumber + 1,
+                    (index) -> index < vertexNumber ? graph.outEdgesStart(index) : edgeNumber);
+            writeSection(channel, buffer, edgeNumber, graph::outTarget);
+            writeSection(channel, buffer, edgeNumber, graph::outCost);
+            writeSection(channel, buffer, vertexNumber + 1,
+                    (index) -> index < vertexNumber ? graph.inEdgesStart(index) : edgeNumber);
+            writeSection(channel, buffer, edgeNumber, graph::inSource);
+            writeSection(channel, buffer, edgeNumber, graph::inCost);
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static void writeSection(
+            FileChannel channel,
+            ByteBuffer buffer,
+            int length,
+            IntUnaryOperator values
+    ) throws IOException
+    {
+        for (int i = 0; i < length; i++)
+        {
+            if (buffer.remaining() < Integer.BYTES)
+            {
+                buffer.flip();
+                while (buffer.hasRemaining())
+                {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            buffer.putInt(values.applyAsInt(i));
+        }
+    }
+
+    /**
+     * Writes the lowest costs between every two vertices to a binary file, computing them with Johnson's algorithm
+     * on the common ForkJoinPool. The rows are written as they are computed, so the table does not have to fit
+     * in memory.
+     * The file has the magic number, the format version and the number of vertices V, followed by the V vertices
+     * in increasing order and by the V rows of V costs, all little endian; the costs are longs and the walks which
+     * do not exist have the cost Dijkstra.INFINITY
+     * @param directedGraph The graph
+     * @param fileName The file where the costs are written
+     * @return false if there are negative cost cycles in the graph, in which case the file is left empty;
+     * true otherwise
+     */
+    public static boolean writeAllPairsLowestCostsToBinaryFile(DirectedGraphView directedGraph, String fileName)
+            throws IOException
+    {
+        AbstractCompressedDirectedGraph graph = AbstractCompressedDirectedGraph.compress(directedGraph);
+        int vertexNumber = graph.getNumberOfVertices();
+        try (FileChannel channel = FileChannel.open(
+                Paths.get(fileName),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        ))
+        {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(Math.max(vertexNumber * Long.BYTES, WRITE_BUFFER_SIZE))
+                                          .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(DISTANCES_MAGIC).putInt(BINARY_VERSION).putInt(vertexNumber);
+            writeSection(channel, buffer, vertexNumber, graph::vertexAt);
+            flush(channel, buffer);
+            boolean written = Johnson.allPairsLowestCosts(graph, ForkJoinPool.commonPool(), (vertex, costs) ->
+            {
+                buffer.asLongBuffer().put(costs);
+                buffer.position(vertexNumber * Long.BYTES);
+                flush(channel, buffer);
+            });
+            if (!written)
+            {
+                channel.truncate(0);
+            }
+            return written;
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the content of the buffer to the channel and clears the buffer
+     * @throws UncheckedIOException if the channel cannot be written
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer)
+    {
+        try
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps a binary graph file in memory; the graph is read from the file as it is used
+     * @param fileName The binary graph file, written by writeDirectedGraphToBinaryFile
+     * @return The read-only graph
+     * @throws IOException if the file cannot be read or it is not a binary graph file
+     */
+    public static MappedDirectedGraph loadDirectedGraphFromBinaryFile(String fileName) throws IOException
     {
         File file = new File(fileName);
         if (!file.exists())
         {
             throw new FileNotFoundException();
         }
-        Scanner scanner = new Scanner(file);
-        int vertexNumber = scanner.nextInt();
-        int edgeNumber = scanner.nextInt();
-        UndirectedGraph undirectedGraph = new UndirectedGraph(vertexNumber, edgeNumber);
-        for (int i = 0; i < edgeNumber; i++)
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
         {
-            int vertex1 = scanner.nextInt();
-            int vertex2 = scanner.nextInt();
-            int cost = scanner.nextInt();
-            try
+            if (channel.size() < BINARY_HEADER_SIZE)
             {
-                undirectedGraph.addEdge(vertex1, vertex2, cost);
-            } catch (CannotHaveLoopsException | EdgeAlreadyExistsException ignored)
+                throw new IOException("The file is not a binary graph file");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, BINARY_HEADER_SIZE)
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != BINARY_MAGIC)
             {
-
+                throw new IOException("The file is not a binary graph file");
+            }
+            int version = header.getInt();
+            if (version != BINARY_VERSION)
+            {
+                throw new IOException("Unsupported binary graph file version " + version);
+            }
+            int vertexNumber = header.getInt();
+            int edgeNumber = header.getInt();
+            long expectedSize = BINARY_HEADER_SIZE + (long) Integer.BYTES * (3L * vertexNumber + 2 + 4L * edgeNumber);
+            if (vertexNumber < 0 || edgeNumber < 0 || channel.size() != expectedSize)
+            {
+                throw new IOException("The binary graph file is corrupted");
             }
+
+            long position = BINARY_HEADER_SIZE;
+            IntBuffer vertices = mapSection(channel, position, vertexNumber);
+            position += (long) Integer.BYTES * vertexNumber;
+            IntBuffer outOffsets = mapSection(channel, position, vertexNumber + 1);
+            position += (long) Integer.BYTES * (vertexNumber + 1);
+            IntBuffer outTargets = mapSection(channel, position, edgeNumber);
+            position += (long) Integer.BYTES * edgeNumber;
+            IntBuffer outCosts = mapSection(channel, position, edgeNumber);
+            position += (long) Integer.BYTES * edgeNumber;
+            IntBuffer inOffsets = mapSection(channel, position, vertexNumber + 1);
+            position += (long) Integer.BYTES * (vertexNumber + 1);
+            IntBuffer inSources = mapSection(channel, position, edgeNumber);
+            position += (long) Integer.BYTES * edgeNumber;
+            IntBuffer inCosts = mapSection(channel, position, edgeNumber);
+            return new MappedDirectedGraph(vertices, outOffsets, outTargets, outCosts, inOffsets, inSources, inCosts);
         }
-        scanner.close();
-        return undirectedGraph;
+    }
+
+    /**
+     * Maps a section of ints; the mapping stays valid after the channel is closed
+     */
+    private static IntBuffer mapSection(FileChannel channel, long position, int length) throws IOException
+    {
+        long size = (long) Integer.BYTES * length;
+        if (size > Integer.MAX_VALUE)
+        {
+            throw new IOException("The binary graph file section is too large to be mapped");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+                      .order(ByteOrder.LITTLE_ENDIAN)
+                      .asIntBuffer();
     }
 }
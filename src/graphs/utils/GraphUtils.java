@@ -1,7 +1,7 @@
 package graphs.utils;
 
 import graphs.DirectedGraph;
-import graphs.exceptions.EdgeAlreadyExistsException;
+import graphs.DuplicatePolicy;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -11,23 +11,20 @@ public class GraphUtils
     {
         DirectedGraph newGraph = new DirectedGraph(numberOfVertices, numberOfEdges);
         ThreadLocalRandom random = ThreadLocalRandom.current();
-        for (int i = 0; i < numberOfEdges; i++)
+        // the duplicate edges of a batch are skipped, so batches are generated until there are enough edges
+        while (newGraph.getNumberOfEdges() < numberOfEdges)
         {
-            boolean found = false;
-            while (!found)
+            int missingEdges = numberOfEdges - newGraph.getNumberOfEdges();
+            int[] vertices1 = new int[missingEdges];
+            int[] vertices2 = new int[missingEdges];
+            int[] costs = new int[missingEdges];
+            for (int i = 0; i < missingEdges; i++)
             {
-                int randomInt1 = random.nextInt(numberOfVertices);
-                int randomInt2 = random.nextInt(numberOfVertices);
-                int randomInt3 = random.nextInt(Integer.MAX_VALUE);
-                try
-                {
-                    newGraph.addEdge(randomInt1, randomInt2, randomInt3);
-                    found = true;
-                } catch (EdgeAlreadyExistsException ignored)
-                {
-
-                }
+                vertices1[i] = random.nextInt(numberOfVertices);
+                vertices2[i] = random.nextInt(numberOfVertices);
+                costs[i] = random.nextInt(Integer.MAX_VALUE);
             }
+            newGraph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.SKIP);
         }
         return newGraph;
     }
@@ -0,0 +1,319 @@
+package graphs.utils;
+
+import graphs.collections.IntArrayList;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Reads the "V E" header and the edges of a graph file in parallel.
+ * The file is split at line boundaries into chunks, the integers of every chunk are parsed by a task of a ForkJoinPool
+ * and the chunks are then merged in file order, so the result is the same as reading the file sequentially
+ */
+class ParallelEdgeListReader
+{
+    static final long DEFAULT_CHUNK_SIZE = 1 << 22;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE = 1 << 12;
+
+    /**
+     * The edges read from a file, in file order
+     */
+    static class EdgeList
+    {
+        final int vertexNumber;
+        final int[] vertices1;
+        final int[] vertices2;
+        final int[] costs;
+
+        EdgeList(int vertexNumber, int edgeNumber)
+        {
+            this.vertexNumber = vertexNumber;
+            this.vertices1 = new int[edgeNumber];
+            this.vertices2 = new int[edgeNumber];
+            this.costs = new int[edgeNumber];
+        }
+    }
+
+    /**
+     * Reads the specified graph file
+     * @param fileName The graph file
+     * @param pool The pool which parses the chunks
+     * @param minimumChunkSize The smallest number of bytes worth parsing in a separate task
+     * @return The edges of the file
+     * @throws NoSuchElementException if the file has fewer edges than its header states
+     */
+    static EdgeList read(String fileName, ForkJoinPool pool, long minimumChunkSize) throws IOException
+    {
+        File file = new File(fileName);
+        if (!file.exists())
+        {
+            throw new FileNotFoundException();
+        }
+        IntArrayList[] tokens;
+        if (FileUtils.isGzipFile(fileName))
+        {
+            // a compressed stream cannot be split, so it is parsed as a single chunk
+            try (EdgeListParser parser = new EdgeListParser(FileUtils.openInputChannel(file)))
+            {
+                tokens = new IntArrayList[]{parseTokens(parser, new IntArrayList())};
+            }
+        }
+        else
+        {
+            tokens = parseChunks(file, pool, minimumChunkSize);
+        }
+        int chunkNumber = tokens.length;
+
+        // the position of the first integer of every chunk in the whole file
+        long[] offsets = new long[chunkNumber + 1];
+        for (int chunk = 0; chunk < chunkNumber; chunk++)
+        {
+            offsets[chunk + 1] = offsets[chunk] + tokens[chunk].size();
+        }
+        int vertexNumber = (int) token(tokens, offsets, 0);
+        int edgeNumber = (int) token(tokens, offsets, 1);
+        if (offsets[chunkNumber] < 2 + 3L * edgeNumber)
+        {
+            throw new NoSuchElementException();
+        }
+
+        EdgeList edgeList = new EdgeList(vertexNumber, edgeNumber);
+        getResult(pool.submit(() -> IntStream.range(0, chunkNumber).parallel().forEach((chunk) ->
+                copyEdges(tokens[chunk], offsets[chunk], edgeList)
+        )));
+        return edgeList;
+    }
+
+    /**
+     * Parses the chunks of the file at the same time
+     * @return The integers of every chunk
+     */
+    private static IntArrayList[] parseChunks(File file, ForkJoinPool pool, long minimumChunkSize) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ))
+        {
+            long[] boundaries = splitAtLines(channel, pool.getParallelism() * CHUNKS_PER_THREAD, minimumChunkSize);
+            int chunkNumber = boundaries.length - 1;
+
+            List<Callable<IntArrayList>> tasks = new ArrayList<>(chunkNumber);
+            for (int chunk = 0; chunk < chunkNumber; chunk++)
+            {
+                long start = boundaries[chunk];
+                long end = boundaries[chunk + 1];
+                tasks.add(() -> parseChunk(channel, start, end));
+            }
+            IntArrayList[] tokens = new IntArrayList[chunkNumber];
+            List<Future<IntArrayList>> results = pool.invokeAll(tasks);
+            for (int chunk = 0; chunk < chunkNumber; chunk++)
+            {
+                tokens[chunk] = getResult(results.get(chunk));
+            }
+            return tokens;
+        }
+    }
+
+    /**
+     * Copies the edges whose integers are in the specified chunk to the edge list
+     */
+    private static void copyEdges(IntArrayList tokens, long offset, EdgeList edgeList)
+    {
+        long edgeTokens = 3L * edgeList.vertices1.length;
+        for (int i = 0; i < tokens.size(); i++)
+        {
+            // skip the header
+            long position = offset + i - 2;
+            if (position < 0)
+            {
+                continue;
+            }
+            if (position >= edgeTokens)
+            {
+                return;
+            }
+            int edge = (int) (position / 3);
+            switch ((int) (position % 3))
+            {
+                case 0:
+                    edgeList.vertices1[edge] = tokens.get(i);
+                    break;
+                case 1:
+                    edgeList.vertices2[edge] = tokens.get(i);
+                    break;
+                default:
+                    edgeList.costs[edge] = tokens.get(i);
+            }
+        }
+    }
+
+    private static long token(IntArrayList[] tokens, long[] offsets, long position)
+    {
+        if (position >= offsets[tokens.length])
+        {
+            throw new NoSuchElementException();
+        }
+        int chunk = Arrays.binarySearch(offsets, position);
+        if (chunk < 0)
+        {
+            chunk = -chunk - 2;
+        }
+        // skip the empty chunks starting at the same position
+        while (offsets[chunk + 1] == position)
+        {
+            chunk++;
+        }
+        return tokens[chunk].get((int) (position - offsets[chunk]));
+    }
+
+    private static IntArrayList parseChunk(FileChannel channel, long start, long end)
+    {
+        return parseTokens(new EdgeListParser(new RegionChannel(channel, start, end)), new IntArrayList());
+    }
+
+    private static IntArrayList parseTokens(EdgeListParser parser, IntArrayList tokens)
+    {
+        while (parser.hasNext())
+        {
+            tokens.add(parser.nextInt());
+        }
+        return tokens;
+    }
+
+    /**
+     * Splits the file into chunks which start at the beginning of a line
+     * @return The positions where the chunks start, followed by the size of the file
+     */
+    private static long[] splitAtLines(FileChannel channel, int chunkNumber, long minimumChunkSize) throws IOException
+    {
+        long size = channel.size();
+        long chunkSize = Math.max(minimumChunkSize, size / chunkNumber);
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        for (long position = chunkSize; position < size; position += chunkSize)
+        {
+            long lineStart = nextLineStart(channel, position, size);
+            if (lineStart > boundaries.get(boundaries.size() - 1) && lineStart < size)
+            {
+                boundaries.add(lineStart);
+            }
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Finds the first line which starts at the specified position or after it
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long current = position - 1;
+        while (current < size)
+        {
+            buffer.clear();
+            int read = channel.read(buffer, current);
+            if (read < 0)
+            {
+                break;
+            }
+            for (int i = 0; i < read; i++)
+            {
+                if (buffer.get(i) == '\n')
+                {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    private static <T> T getResult(Future<T> future) throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        catch (ExecutionException e)
+        {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException)
+            {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Reads a region of a file channel with positional reads, so several regions can be read at the same time
+     */
+    private static class RegionChannel implements ReadableByteChannel
+    {
+        private final FileChannel channel;
+        private long position;
+        private final long end;
+
+        RegionChannel(FileChannel channel, long start, long end)
+        {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read(ByteBuffer destination) throws IOException
+        {
+            if (position >= end)
+            {
+                return -1;
+            }
+            int length = (int) Math.min(destination.remaining(), end - position);
+            ByteBuffer view = destination.duplicate();
+            view.limit(view.position() + length);
+            int read = channel.read(view, position);
+            if (read < 0)
+            {
+                return -1;
+            }
+            destination.position(destination.position() + read);
+            position += read;
+            return read;
+        }
+
+        @Override
+        public boolean isOpen()
+        {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
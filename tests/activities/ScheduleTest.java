@@ -0,0 +1,176 @@
+package activities;
+
+import graphs.DirectedGraph;
+import graphs.algorithms.CriticalPath;
+import graphs.exceptions.CannotHaveCyclesException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ScheduleTest
+{
+    private DirectedGraph graph;
+    private Map<Integer, Activity> activities;
+    private Schedule schedule;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        // the project of data/activities.txt
+        int[] durations = {2, 3, 5, 3, 3, 3, 2};
+        graph = new DirectedGraph(7, 10);
+        graph.addEdge(1, 2, 0);
+        graph.addEdge(0, 3, 0);
+        graph.addEdge(0, 4, 0);
+        graph.addEdge(2, 5, 0);
+        graph.addEdge(3, 5, 0);
+        graph.addEdge(4, 5, 0);
+        graph.addEdge(6, 5, 0);
+        graph.addEdge(2, 6, 0);
+        activities = new HashMap<>();
+        for (int vertex = 0; vertex < durations.length; vertex++)
+        {
+            activities.put(vertex, new Activity(vertex, durations[vertex]));
+        }
+        linkEnds(graph, activities);
+        schedule = Schedule.of(graph, activities);
+    }
+
+    /**
+     * Adds the start activity before the activities without dependencies and the end activity after the ones
+     * without dependent activities, like the controller does
+     */
+    private static void linkEnds(DirectedGraph graph, Map<Integer, Activity> activities)
+    {
+        graph.addVertex(-1);
+        graph.addVertex(-2);
+        activities.put(-1, new Activity(-1, 0));
+        activities.put(-2, new Activity(-2, 0));
+        for (int vertex : activities.keySet())
+        {
+            if (vertex >= 0 && graph.inDegree(vertex) == 0)
+            {
+                graph.addEdge(-1, vertex, 0);
+            }
+            if (vertex >= 0 && graph.outDegree(vertex) == 0)
+            {
+                graph.addEdge(vertex, -2, 0);
+            }
+        }
+    }
+
+    @Test
+    public void changes()
+    {
+        assertEquals(13, schedule.getProjectEnd());
+        assertTrue(schedule.isCritical(2));
+        assertFalse(schedule.isCritical(0));
+
+        schedule.changeDuration(0, 9);
+        assertEquals(15, schedule.getProjectEnd());
+        assertTrue(schedule.isCritical(0));
+        assertFalse(schedule.isCritical(2));
+        Activity activity = schedule.getActivity(5);
+        assertEquals(12, activity.minStartTime);
+        assertEquals(15, activity.maxEndTime);
+
+        schedule.addDependency(0, 1);
+        assertFalse(graph.existsEdge(-1, 1));
+        assertEquals(22, schedule.getProjectEnd());
+        assertEquals(9, schedule.getActivity(1).minStartTime);
+        List<Activity> order = schedule.getActivities();
+        assertEquals(-1, order.get(0).vertex);
+        assertEquals(-2, order.get(order.size() - 1).vertex);
+
+        schedule.removeDependency(2, 6);
+        assertTrue(graph.existsEdge(-1, 6));
+        schedule.removeDependency(2, 5);
+        assertTrue(graph.existsEdge(2, -2));
+        schedule.addDependency(2, 6);
+        assertFalse(graph.existsEdge(2, -2));
+        assertFalse(graph.existsEdge(-1, 6));
+        assertEquals(22, schedule.getProjectEnd());
+        try
+        {
+            schedule.addDependency(5, 0);
+            fail();
+        }
+        catch (CannotHaveCyclesException ignored)
+        {
+        }
+        assertFalse(graph.existsEdge(5, 0));
+    }
+
+    @Test
+    public void randomChanges()
+    {
+        Random random = new Random(25);
+        int vertexNumber = 300;
+        DirectedGraph randomGraph = new DirectedGraph(vertexNumber, 4 * vertexNumber);
+        Map<Integer, Activity> randomActivities = new HashMap<>();
+        for (int vertex = 0; vertex < vertexNumber; vertex++)
+        {
+            randomActivities.put(vertex, new Activity(vertex, 1 + random.nextInt(30)));
+            for (int i = 0; i < 2 && vertex > 0; i++)
+            {
+                int dependency = random.nextInt(vertex);
+                if (!randomGraph.existsEdge(dependency, vertex))
+                {
+                    randomGraph.addEdge(dependency, vertex, 0);
+                }
+            }
+        }
+        linkEnds(randomGraph, randomActivities);
+        Schedule randomSchedule = Schedule.of(randomGraph, randomActivities);
+
+        for (int step = 0; step < 600; step++)
+        {
+            int vertex1 = random.nextInt(vertexNumber);
+            int vertex2 = random.nextInt(vertexNumber);
+            int choice = random.nextInt(3);
+            if (choice == 0)
+            {
+                randomSchedule.changeDuration(vertex1, random.nextInt(40));
+            }
+            else if (vertex1 != vertex2 && randomGraph.existsEdge(vertex1, vertex2))
+            {
+                randomSchedule.removeDependency(vertex1, vertex2);
+            }
+            else if (vertex1 != vertex2)
+            {
+                try
+                {
+                    randomSchedule.addDependency(vertex1, vertex2);
+                }
+                catch (CannotHaveCyclesException ignored)
+                {
+                }
+            }
+
+            CriticalPath expected = CriticalPath.of(randomGraph, vertex -> randomActivities.get(vertex).duration);
+            assertNotNull(expected);
+            assertEquals(expected.getCompletionTime(), randomSchedule.getProjectEnd());
+            for (int vertex = 0; vertex < vertexNumber; vertex++)
+            {
+                Activity activity = randomSchedule.getActivity(vertex);
+                assertEquals(expected.getEarliestStart(vertex), activity.minStartTime);
+                assertEquals(expected.getLatestStart(vertex), activity.maxStartTime);
+                assertEquals(expected.isCritical(vertex), activity.critical);
+            }
+            List<Activity> order = randomSchedule.getActivities();
+            for (int i = 0; i < order.size(); i++)
+            {
+                for (int next : randomGraph.parseOutboundEdges(order.get(i).vertex))
+                {
+                    assertTrue(order.indexOf(randomActivities.get(next)) > i);
+                }
+            }
+        }
+    }
+}
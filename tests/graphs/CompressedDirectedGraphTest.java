@@ -0,0 +1,97 @@
+package graphs;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Iterator;
+
+import static org.junit.Assert.*;
+
+public class CompressedDirectedGraphTest
+{
+    private CompressedDirectedGraph graph;
+    @Before
+    public void setUp() throws Exception
+    {
+        DirectedGraph directedGraph = new DirectedGraph(5, 6);
+        directedGraph.addEdge(0,0,1);
+        directedGraph.addEdge(0,1,7);
+        directedGraph.addEdge(1,3,8);
+        directedGraph.addEdge(1,2,2);
+        directedGraph.addEdge(2,1,-1);
+        directedGraph.addEdge(2,3,5);
+        graph = directedGraph.freeze();
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void degrees()
+    {
+        assertEquals(graph.inDegree(1), 2);
+        assertEquals(graph.inDegree(4), 0);
+        assertEquals(graph.outDegree(0), 2);
+        assertEquals(graph.outDegree(3), 0);
+    }
+
+    @Test
+    public void parseOutboundEdges()
+    {
+        Iterator<Integer> iterator = graph.parseOutboundEdges(1).iterator();
+        assertEquals((int)iterator.next(), 2);
+        assertEquals((int)iterator.next(), 3);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void parseInboundEdges()
+    {
+        Iterator<Integer> iterator = graph.parseInboundEdges(3).iterator();
+        assertEquals((int)iterator.next(), 1);
+        assertEquals((int)iterator.next(), 2);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test
+    public void getCost()
+    {
+        assertEquals(graph.getNumberOfVertices(), 5);
+        assertEquals(graph.getNumberOfEdges(), 6);
+        assertEquals(graph.getCost(2, 1), -1);
+        assertEquals(graph.getCost(0, 0), 1);
+        assertTrue(graph.existsEdge(1, 3));
+        assertFalse(graph.existsEdge(3, 1));
+        assertFalse(graph.existsEdge(7, 1));
+    }
+
+    @Test
+    public void parseEdges()
+    {
+        int count = 0;
+        for (VertexPair edge : graph.parseEdges())
+        {
+            assertTrue(graph.existsEdge(edge.getVertex1(), edge.getVertex2()));
+            count++;
+        }
+        assertEquals(count, 6);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void addEdge()
+    {
+        graph.addEdge(3, 4, 1);
+    }
+
+    @Test
+    public void toDirectedGraph()
+    {
+        DirectedGraph directedGraph = graph.toDirectedGraph();
+        assertEquals(directedGraph.getNumberOfEdges(), 6);
+        assertEquals(directedGraph.getCost(1, 2), 2);
+    }
+}
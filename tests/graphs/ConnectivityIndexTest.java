@@ -0,0 +1,131 @@
+package graphs;
+
+import graphs.algorithms.ConnectedComponents;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ConnectivityIndexTest
+{
+    private UndirectedGraph graph;
+    private ConnectivityIndex index;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new UndirectedGraph(6, 6);
+        graph.addEdge(0, 1, 1);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(3, 4, 1);
+        index = graph.enableConnectivityIndex();
+    }
+
+    @Test
+    public void areConnected()
+    {
+        assertTrue(index.areConnected(0, 2));
+        assertTrue(index.areConnected(3, 4));
+        assertFalse(index.areConnected(2, 3));
+        assertFalse(index.areConnected(5, 0));
+        assertEquals(3, index.getNumberOfComponents());
+        assertSame(index, graph.enableConnectivityIndex());
+    }
+
+    @Test
+    public void addEdge()
+    {
+        graph.addEdge(2, 3, 1);
+        assertTrue(index.areConnected(0, 4));
+        graph.addEdges(new int[]{4}, new int[]{5}, new int[]{1}, DuplicatePolicy.SKIP);
+        assertTrue(index.areConnected(0, 5));
+        assertEquals(1, index.getNumberOfComponents());
+    }
+
+    @Test
+    public void removeEdge()
+    {
+        graph.addEdge(0, 2, 1);
+        graph.removeEdge(1, 2);
+        assertTrue(index.areConnected(1, 2));
+        graph.removeEdge(0, 1);
+        assertFalse(index.areConnected(1, 2));
+        assertTrue(index.areConnected(0, 2));
+        assertEquals(4, index.getNumberOfComponents());
+    }
+
+    @Test
+    public void vertices()
+    {
+        graph.removeVertex(1);
+        assertFalse(index.areConnected(0, 2));
+        assertEquals(4, index.getNumberOfComponents());
+        try
+        {
+            index.areConnected(1, 0);
+            fail();
+        }
+        catch (VertexDoesNotExistException ignored)
+        {
+        }
+        graph.addVertex(7);
+        graph.addEdge(7, 0, 1);
+        graph.addEdge(7, 3, 1);
+        assertTrue(index.areConnected(0, 4));
+        assertFalse(index.areConnected(0, 2));
+        assertEquals(3, index.getNumberOfComponents());
+    }
+
+    @Test
+    public void randomChanges()
+    {
+        Random random = new Random(21);
+        UndirectedGraph randomGraph = new UndirectedGraph(60, 0);
+        ConnectivityIndex randomIndex = randomGraph.enableConnectivityIndex();
+        for (int step = 0; step < 2000; step++)
+        {
+            int vertex1 = random.nextInt(60);
+            int vertex2 = random.nextInt(60);
+            if (!randomGraph.existsVertex(vertex1) || !randomGraph.existsVertex(vertex2))
+            {
+                if (!randomGraph.existsVertex(vertex1))
+                {
+                    randomGraph.addVertex(vertex1);
+                }
+                continue;
+            }
+            int choice = random.nextInt(10);
+            if (choice == 0)
+            {
+                randomGraph.removeVertex(vertex1);
+                continue;
+            }
+            if (vertex1 != vertex2)
+            {
+                if (randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.removeEdge(vertex1, vertex2);
+                }
+                else if (choice < 6)
+                {
+                    randomGraph.addEdge(vertex1, vertex2, 1);
+                }
+            }
+            if (step % 7 == 0)
+            {
+                ConnectedComponents components = ConnectedComponents.of(randomGraph);
+                assertEquals(components.getNumberOfComponents(), randomIndex.getNumberOfComponents());
+                if (randomGraph.existsVertex(vertex1) && randomGraph.existsVertex(vertex2))
+                {
+                    assertEquals(
+                            components.areConnected(vertex1, vertex2),
+                            randomIndex.areConnected(vertex1, vertex2)
+                    );
+                }
+            }
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package graphs;
 
+import graphs.storage.StorageType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 import static org.junit.Assert.*;
 
@@ -156,4 +160,126 @@ public class DirectedGraphTest
         DirectedGraph newGraph = graph.copy();
         assertEquals(newGraph.getNumberOfEdges(), 6);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void primitiveStorage()
+    {
+        DirectedGraph primitiveGraph = new DirectedGraph(5, 6, StorageType.PRIMITIVE);
+        for (VertexPair edge : graph.parseEdges())
+        {
+            primitiveGraph.addEdge(edge.getVertex1(), edge.getVertex2(), graph.getCost(edge.getVertex1(), edge.getVertex2()));
+        }
+        assertEquals(primitiveGraph.getNumberOfEdges(), 6);
+        assertEquals(primitiveGraph.inDegree(3), 2);
+        assertEquals(primitiveGraph.outDegree(0), 2);
+        assertEquals(primitiveGraph.getCost(2, 1), -1);
+
+        primitiveGraph.removeVertex(0);
+        assertFalse(primitiveGraph.existsVertex(0));
+        assertEquals(primitiveGraph.getNumberOfVertices(), 4);
+        assertEquals(primitiveGraph.inDegree(1), 1);
+        primitiveGraph.removeEdge(1, 3);
+        Iterator<Integer> iterator = primitiveGraph.parseInboundEdges(3).iterator();
+        assertEquals((int)iterator.next(), 2);
+        assertFalse(iterator.hasNext());
+
+        primitiveGraph.addVertex(0);
+        assertTrue(primitiveGraph.existsVertex(0));
+        assertEquals(primitiveGraph.copy().getNumberOfEdges(), 3);
+    }
+
+    @Test
+    public void indexedStorage()
+    {
+        DirectedGraph indexedGraph = new DirectedGraph(50, 100, StorageType.INDEXED);
+        indexedGraph.addEdge(0, 0, 1);
+        for (int i = 1; i < 50; i++)
+        {
+            indexedGraph.addEdge(0, i, i);
+            indexedGraph.addEdge(i, 0, -i);
+        }
+        indexedGraph.addEdge(1, 2, 3);
+        indexedGraph.removeEdge(0, 1);
+        assertEquals(indexedGraph.outDegree(0), 49);
+        assertFalse(indexedGraph.existsEdge(0, 1));
+        indexedGraph.removeEdge(0, 25);
+        indexedGraph.removeEdge(25, 0);
+        assertEquals(indexedGraph.inDegree(0), 49);
+        for (int vertex2 : indexedGraph.parseOutboundEdges(0))
+        {
+            assertEquals(indexedGraph.getCost(0, vertex2), vertex2 == 0 ? 1 : vertex2);
+        }
+
+        indexedGraph.removeVertex(0);
+        assertEquals(indexedGraph.getNumberOfEdges(), 1);
+        assertEquals(indexedGraph.outDegree(1), 1);
+        assertEquals(indexedGraph.inDegree(2), 1);
+        indexedGraph.removeEdge(1, 2);
+        assertEquals(indexedGraph.getNumberOfEdges(), 0);
+    }
+
+    @Test
+    public void addEdges()
+    {
+        int[] vertices1 = {3, 0, 4, 3};
+        int[] vertices2 = {4, 1, 0, 4};
+        int[] costs = {10, 11, 12, 13};
+
+        BulkInsertResult result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.REJECT);
+        assertTrue(result.isRejected());
+        assertEquals(graph.getNumberOfEdges(), 6);
+
+        result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.SKIP);
+        assertEquals(result.getAdded(), 2);
+        assertEquals(result.getSkipped(), 2);
+        assertEquals(graph.getCost(3, 4), 10);
+        assertEquals(graph.getCost(0, 1), 7);
+        assertEquals(graph.inDegree(0), 2);
+
+        result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.KEEP_LAST);
+        assertEquals(result.getAdded(), 0);
+        assertEquals(result.getUpdated(), 3);
+        assertEquals(graph.getCost(3, 4), 13);
+        assertEquals(graph.getCost(0, 1), 11);
+        assertEquals(graph.getNumberOfEdges(), 8);
+        assertEquals(graph.outDegree(3), 1);
+    }
+
+    @Test
+    public void primitiveIterators()
+    {
+        for (StorageType storageType : StorageType.values())
+        {
+            DirectedGraph storedGraph = new DirectedGraph(5, 6, storageType);
+            for (VertexPair edge : graph.parseEdges())
+            {
+                storedGraph.addEdge(edge.getVertex1(), edge.getVertex2(), graph.getCost(edge.getVertex1(), edge.getVertex2()));
+            }
+            for (DirectedGraphView view : new DirectedGraphView[]{storedGraph, storedGraph.freeze()})
+            {
+                for (int vertex : view.parseVertices())
+                {
+                    assertEquals(toList(view.iterateOutboundEdges(vertex)), toList(view.parseOutboundEdges(vertex)));
+                    assertEquals(toList(view.iterateInboundEdges(vertex)), toList(view.parseInboundEdges(vertex)));
+                }
+            }
+        }
+    }
+
+    private static List<Integer> toList(PrimitiveIterator.OfInt iterator)
+    {
+        List<Integer> list = new ArrayList<>();
+        while (iterator.hasNext())
+        {
+            list.add(iterator.nextInt());
+        }
+        return list;
+    }
+
+    private static List<Integer> toList(Iterable<Integer> iterable)
+    {
+        List<Integer> list = new ArrayList<>();
+        iterable.forEach(list::add);
+        return list;
+    }
+}
@@ -1,5 +1,6 @@
 package graphs;
 
+import graphs.storage.StorageType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -140,4 +141,73 @@ public class UndirectedGraphTest
         UndirectedGraph newGraph = graph.copy();
         assertEquals(newGraph.getNumberOfEdges(), 4);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void primitiveStorage()
+    {
+        UndirectedGraph primitiveGraph = new UndirectedGraph(5, 6, StorageType.PRIMITIVE);
+        primitiveGraph.addEdge(0,1,7);
+        primitiveGraph.addEdge(1,2,2);
+        primitiveGraph.addEdge(1,3,8);
+        primitiveGraph.addEdge(2,3,5);
+        assertEquals(primitiveGraph.degree(1), 3);
+        Iterator<Integer> iterator = primitiveGraph.parseAdjacentEdges(3).iterator();
+        assertEquals((int)iterator.next(), 1);
+        assertEquals((int)iterator.next(), 2);
+
+        primitiveGraph.removeVertex(1);
+        assertEquals(primitiveGraph.getNumberOfEdges(), 1);
+        assertEquals(primitiveGraph.degree(0), 0);
+        assertEquals(primitiveGraph.degree(2), 1);
+        assertFalse(primitiveGraph.existsVertex(1));
+        assertEquals(primitiveGraph.copy().getNumberOfVertices(), 4);
+    }
+
+    @Test
+    public void indexedStorage()
+    {
+        UndirectedGraph indexedGraph = new UndirectedGraph(50, 100, StorageType.INDEXED);
+        for (int i = 1; i < 50; i++)
+        {
+            indexedGraph.addEdge(0, i, i);
+        }
+        indexedGraph.addEdge(1, 2, 3);
+        indexedGraph.removeEdge(10, 0);
+        assertEquals(indexedGraph.degree(0), 48);
+        assertFalse(indexedGraph.existsEdge(0, 10));
+        for (int vertex2 : indexedGraph.parseAdjacentEdges(0))
+        {
+            assertEquals(indexedGraph.getCost(vertex2, 0), vertex2);
+        }
+
+        indexedGraph.removeVertex(0);
+        assertEquals(indexedGraph.getNumberOfEdges(), 1);
+        assertEquals(indexedGraph.degree(1), 1);
+        assertEquals(indexedGraph.degree(10), 0);
+    }
+
+    @Test
+    public void addEdges()
+    {
+        int[] vertices1 = {4, 1, 2, 0};
+        int[] vertices2 = {0, 0, 2, 4};
+        int[] costs = {10, 11, 12, 13};
+
+        BulkInsertResult result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.REJECT);
+        assertTrue(result.isRejected());
+        assertEquals(graph.getNumberOfEdges(), 4);
+
+        result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.SKIP);
+        assertEquals(result.getAdded(), 1);
+        assertEquals(result.getSkipped(), 3);
+        assertEquals(graph.getCost(0, 4), 10);
+        assertEquals(graph.getCost(0, 1), 7);
+        assertEquals(graph.degree(4), 1);
+
+        result = graph.addEdges(vertices1, vertices2, costs, DuplicatePolicy.KEEP_LAST);
+        assertEquals(result.getUpdated(), 2);
+        assertEquals(graph.getCost(4, 0), 13);
+        assertEquals(graph.getCost(1, 0), 11);
+        assertFalse(graph.existsEdge(2, 2));
+    }
+}
@@ -0,0 +1,111 @@
+package graphs.algorithms;
+
+import graphs.UndirectedGraph;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class ConnectedComponentsTest
+{
+    private UndirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new UndirectedGraph(7, 4);
+        graph.addEdge(0,1,5);
+        graph.addEdge(1,2,3);
+        graph.addEdge(3,4,1);
+        graph.addEdge(4,6,2);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void labels()
+    {
+        ConnectedComponents components = ConnectedComponents.of(graph);
+        assertEquals(components.getNumberOfComponents(), 3);
+        assertTrue(components.areConnected(0, 2));
+        assertTrue(components.areConnected(6, 3));
+        assertFalse(components.areConnected(2, 3));
+        assertNotEquals(components.getComponent(5), components.getComponent(0));
+
+        int[] sizes = components.getSizes();
+        Arrays.sort(sizes);
+        assertArrayEquals(sizes, new int[]{1, 3, 3});
+        assertEquals(components.getSize(components.getComponent(4)), 3);
+        List<Integer> vertices = components.getVertices(components.getComponent(6));
+        vertices.sort(Integer::compare);
+        assertEquals(vertices, Arrays.asList(3, 4, 6));
+    }
+
+    @Test
+    public void subgraphs()
+    {
+        ConnectedComponents components = ConnectedComponents.of(graph);
+        UndirectedGraph first = components.getGraph(components.getComponent(1));
+        assertEquals(first.getNumberOfVertices(), 3);
+        assertEquals(first.getNumberOfEdges(), 2);
+        assertEquals(first.getCost(1, 0), 5);
+        assertSame(components.getGraph(components.getComponent(1)), first);
+
+        List<UndirectedGraph> graphs = components.getGraphs();
+        assertEquals(graphs.size(), 3);
+        assertSame(graphs.get(components.getComponent(0)), first);
+        UndirectedGraph second = graphs.get(components.getComponent(3));
+        assertEquals(second.getNumberOfEdges(), 2);
+        assertEquals(second.getCost(4, 6), 2);
+        assertEquals(graphs.get(components.getComponent(5)).getNumberOfEdges(), 0);
+        assertEquals(Traversal.getConnectedComponents(graph).size(), 3);
+    }
+
+    @Test(expected = VertexDoesNotExistException.class)
+    public void missingVertex()
+    {
+        ConnectedComponents.of(graph).getComponent(10);
+    }
+
+    @Test
+    public void parallelMatchesUnionFind()
+    {
+        Random random = new Random(5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int round = 0; round < 20; round++)
+        {
+            int vertexNumber = 100 + random.nextInt(2000);
+            UndirectedGraph randomGraph = new UndirectedGraph(vertexNumber, 0);
+            // around one edge per vertex, so there are a giant component and many small ones
+            for (int i = 0; i < vertexNumber * (1 + random.nextInt(3)) / 2; i++)
+            {
+                int vertex1 = random.nextInt(vertexNumber);
+                int vertex2 = random.nextInt(vertexNumber);
+                if (vertex1 != vertex2 && !randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, 1);
+                }
+            }
+            ConnectedComponents expected = ConnectedComponents.of(randomGraph);
+            ConnectedComponents actual = ConnectedComponents.ofParallel(randomGraph, pool);
+            assertEquals(actual.getNumberOfComponents(), expected.getNumberOfComponents());
+            for (int vertex = 0; vertex < vertexNumber; vertex++)
+            {
+                assertEquals(actual.getComponent(vertex), expected.getComponent(vertex));
+            }
+            assertArrayEquals(actual.getSizes(), expected.getSizes());
+        }
+        pool.shutdown();
+    }
+}
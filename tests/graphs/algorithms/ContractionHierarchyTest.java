@@ -0,0 +1,105 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import graphs.exceptions.NegativeCostException;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class ContractionHierarchyTest
+{
+    private DirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 8);
+        graph.addEdge(0,1,7);
+        graph.addEdge(0,2,2);
+        graph.addEdge(2,1,3);
+        graph.addEdge(1,3,1);
+        graph.addEdge(2,3,9);
+        graph.addEdge(3,4,0);
+        graph.addEdge(4,3,4);
+        graph.addEdge(5,0,1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void queries()
+    {
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph);
+        Traversal.DTOCostWalk walk = hierarchy.lowestCostWalk(5, 4);
+        assertEquals(walk.getCost(), 7);
+        assertEquals(walk.getWalk(), Arrays.asList(5, 0, 2, 1, 3, 4));
+        assertEquals(hierarchy.lowestCostWalk(3, 3).getWalk(), Arrays.asList(3));
+        assertTrue(hierarchy.lowestCostWalk(4, 0).getWalk().isEmpty());
+    }
+
+    @Test
+    public void randomGraphs()
+    {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++)
+        {
+            int vertexNumber = 30 + random.nextInt(50);
+            DirectedGraph randomGraph = new DirectedGraph(vertexNumber, 0);
+            for (int i = 0; i < 3 * vertexNumber; i++)
+            {
+                int vertex1 = random.nextInt(vertexNumber);
+                int vertex2 = random.nextInt(vertexNumber);
+                if (!randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, random.nextInt(20));
+                }
+            }
+            ContractionHierarchy hierarchy = ContractionHierarchy.build(randomGraph);
+            for (int query = 0; query < 30; query++)
+            {
+                int start = random.nextInt(vertexNumber);
+                int target = random.nextInt(vertexNumber);
+                Traversal.DTOCostWalk expected = Traversal.lowestCostWalk(randomGraph, start, target);
+                Traversal.DTOCostWalk actual = hierarchy.lowestCostWalk(start, target);
+                List<Integer> walk = actual.getWalk();
+                assertEquals(walk.isEmpty(), expected.getWalk().isEmpty());
+                if (!walk.isEmpty())
+                {
+                    assertEquals(actual.getCost(), expected.getCost());
+                    assertEquals(walk.get(0).intValue(), start);
+                    assertEquals(walk.get(walk.size() - 1).intValue(), target);
+                    long cost = 0;
+                    for (int i = 1; i < walk.size(); i++)
+                    {
+                        cost += randomGraph.getCost(walk.get(i - 1), walk.get(i));
+                    }
+                    assertEquals(cost, expected.getCost());
+                }
+            }
+        }
+    }
+
+    @Test(expected = NegativeCostException.class)
+    public void negativeCosts()
+    {
+        graph.addEdge(4,5,-3);
+        ContractionHierarchy.build(graph);
+    }
+
+    @Test(expected = VertexDoesNotExistException.class)
+    public void missingVertex()
+    {
+        ContractionHierarchy.build(graph).lowestCostWalk(10, 0);
+    }
+}
@@ -0,0 +1,122 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class CriticalPathTest
+{
+    private static final int[] DURATIONS = {2, 3, 5, 3, 3, 3, 2};
+
+    private DirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(7, 7);
+        graph.addEdge(1, 2, 0);
+        graph.addEdge(0, 3, 0);
+        graph.addEdge(0, 4, 0);
+        graph.addEdge(2, 5, 0);
+        graph.addEdge(3, 5, 0);
+        graph.addEdge(4, 5, 0);
+        graph.addEdge(6, 5, 0);
+        graph.addEdge(2, 6, 0);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void times()
+    {
+        CriticalPath criticalPath = CriticalPath.of(graph, vertex -> DURATIONS[vertex]);
+        assertEquals(13, criticalPath.getCompletionTime());
+        assertEquals(4, criticalPath.getNumberOfLevels());
+        assertEquals(0, criticalPath.getEarliestStart(0));
+        assertEquals(5, criticalPath.getLatestStart(0));
+        assertEquals(7, criticalPath.getLatestEnd(0));
+        assertEquals(8, criticalPath.getEarliestEnd(2));
+        assertEquals(8, criticalPath.getEarliestStart(6));
+        assertEquals(10, criticalPath.getLatestStart(5));
+        assertTrue(criticalPath.isCritical(1));
+        assertTrue(criticalPath.isCritical(2));
+        assertTrue(criticalPath.isCritical(6));
+        assertTrue(criticalPath.isCritical(5));
+        assertFalse(criticalPath.isCritical(3));
+        assertEquals(5, (int) criticalPath.getOrder().get(6));
+    }
+
+    @Test
+    public void cycle()
+    {
+        graph.addEdge(5, 1, 0);
+        assertNull(CriticalPath.of(graph, vertex -> DURATIONS[vertex]));
+    }
+
+    @Test
+    public void wideLevels()
+    {
+        Random random = new Random(24);
+        int vertexNumber = 20000;
+        int width = 4000;
+        DirectedGraph project = new DirectedGraph(vertexNumber, 3 * vertexNumber);
+        for (int vertex = width; vertex < vertexNumber; vertex++)
+        {
+            int levelStart = vertex / width * width;
+            for (int i = 0; i < 3; i++)
+            {
+                int dependency = levelStart - width + random.nextInt(width);
+                if (!project.existsEdge(dependency, vertex))
+                {
+                    project.addEdge(dependency, vertex, 0);
+                }
+            }
+        }
+        int[] durations = new int[vertexNumber];
+        for (int vertex = 0; vertex < vertexNumber; vertex++)
+        {
+            durations[vertex] = 1 + random.nextInt(20);
+        }
+        ForkJoinPool pool = new ForkJoinPool(3);
+        CriticalPath parallel = CriticalPath.of(project, vertex -> durations[vertex], pool);
+        pool.shutdown();
+
+        // the earliest starts checked directly, the dependencies being in the previous level
+        int[] earliestStarts = new int[vertexNumber];
+        int completionTime = 0;
+        for (int vertex = 0; vertex < vertexNumber; vertex++)
+        {
+            for (int dependency : project.parseInboundEdges(vertex))
+            {
+                earliestStarts[vertex] = Math.max(
+                        earliestStarts[vertex],
+                        earliestStarts[dependency] + durations[dependency]
+                );
+            }
+            completionTime = Math.max(completionTime, earliestStarts[vertex] + durations[vertex]);
+            assertEquals(earliestStarts[vertex], parallel.getEarliestStart(vertex));
+        }
+        assertEquals(completionTime, parallel.getCompletionTime());
+        assertEquals(vertexNumber / width, parallel.getNumberOfLevels());
+        for (int vertex = 0; vertex < vertexNumber; vertex++)
+        {
+            int latestEnd = completionTime;
+            for (int next : project.parseOutboundEdges(vertex))
+            {
+                latestEnd = Math.min(latestEnd, parallel.getLatestStart(next));
+            }
+            assertEquals(latestEnd, parallel.getLatestEnd(vertex));
+            assertTrue(parallel.getLatestStart(vertex) >= parallel.getEarliestStart(vertex));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import graphs.exceptions.NegativeCostException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class DeltaSteppingTest
+{
+    private DirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 8);
+        graph.addEdge(0,1,7);
+        graph.addEdge(0,2,2);
+        graph.addEdge(2,1,3);
+        graph.addEdge(1,3,1);
+        graph.addEdge(2,3,9);
+        graph.addEdge(3,4,0);
+        graph.addEdge(4,3,0);
+        graph.addEdge(5,0,1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void queries()
+    {
+        ShortestPathTree tree = DeltaStepping.shortestPathTree(graph, 0);
+        assertEquals(tree.getCost(4), 6);
+        assertEquals(tree.getWalk(4), Arrays.asList(0, 2, 1, 3, 4));
+        assertFalse(tree.existsWalk(5));
+    }
+
+    @Test
+    public void randomGraphs()
+    {
+        Random random = new Random(3);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int round = 0; round < 20; round++)
+        {
+            int vertexNumber = 200 + random.nextInt(400);
+            DirectedGraph randomGraph = new DirectedGraph(vertexNumber, 0);
+            for (int i = 0; i < 4 * vertexNumber; i++)
+            {
+                int vertex1 = random.nextInt(vertexNumber);
+                int vertex2 = random.nextInt(vertexNumber);
+                if (!randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, random.nextInt(10));
+                }
+            }
+            int start = random.nextInt(vertexNumber);
+            ShortestPathTree tree = DeltaStepping.shortestPathTree(randomGraph, start, 1 + random.nextInt(20), pool);
+            for (int target = 0; target < vertexNumber; target++)
+            {
+                Traversal.DTOCostWalk expected = Traversal.lowestCostWalk(randomGraph, start, target);
+                List<Integer> walk = tree.getWalk(target);
+                assertEquals(walk.isEmpty(), expected.getWalk().isEmpty());
+                if (!walk.isEmpty())
+                {
+                    assertEquals(tree.getCost(target), expected.getCost());
+                    assertEquals(walk.get(0).intValue(), start);
+                    long cost = 0;
+                    for (int i = 1; i < walk.size(); i++)
+                    {
+                        cost += randomGraph.getCost(walk.get(i - 1), walk.get(i));
+                    }
+                    assertEquals(cost, expected.getCost());
+                }
+            }
+        }
+        pool.shutdown();
+    }
+
+    @Test
+    public void smallDeltaLargeCosts()
+    {
+        DirectedGraph sparseGraph = new DirectedGraph(3, 2);
+        sparseGraph.addEdge(0, 1, 1000000000);
+        sparseGraph.addEdge(1, 2, 5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            ShortestPathTree tree = DeltaStepping.shortestPathTree(sparseGraph, 0, 1, pool);
+            assertEquals(tree.getCost(2), 1000000005);
+            assertEquals(tree.getWalk(2), Arrays.asList(0, 1, 2));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = NegativeCostException.class)
+    public void negativeCosts()
+    {
+        graph.addEdge(4,5,-3);
+        DeltaStepping.shortestPathTree(graph, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidDelta()
+    {
+        DeltaStepping.shortestPathTree(graph, 0, 0, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,90 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class JohnsonTest
+{
+    private DirectedGraph graph;
+    private ForkJoinPool pool;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        // negative costs only on the edges towards greater vertices, and every edge back costs more than
+        // the 39 edges forward can save, so there are no negative cycles
+        graph = new DirectedGraph(40, 0);
+        Random random = new Random(12);
+        for (int i = 0; i < 150; i++)
+        {
+            int vertex1 = random.nextInt(40);
+            int vertex2 = random.nextInt(40);
+            if (!graph.existsEdge(vertex1, vertex2))
+            {
+                int cost = vertex1 < vertex2 ? random.nextInt(70) - 20 : 800 + random.nextInt(50);
+                graph.addEdge(vertex1, vertex2, cost);
+            }
+        }
+        pool = new ForkJoinPool(3);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+        pool.shutdown();
+    }
+
+    @Test
+    public void allPairsLowestCosts()
+    {
+        DistanceMatrix matrix = Johnson.allPairsLowestCosts(graph, pool);
+        assertEquals(matrix.getNumberOfVertices(), 40);
+        for (int vertex1 = 0; vertex1 < 40; vertex1++)
+        {
+            for (int vertex2 = 0; vertex2 < 40; vertex2++)
+            {
+                Traversal.DTOCostWalk walk = Traversal.lowestCostWalk(graph, vertex1, vertex2);
+                assertEquals(matrix.existsWalk(vertex1, vertex2), !walk.getWalk().isEmpty());
+                if (!walk.getWalk().isEmpty())
+                {
+                    assertEquals(matrix.getCost(vertex1, vertex2), walk.getCost());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void allPairsLowestCostsByRow()
+    {
+        DistanceMatrix matrix = Johnson.allPairsLowestCosts(graph);
+        int[] rowNumber = {0};
+        assertTrue(Johnson.allPairsLowestCosts(graph, pool, (vertex, costs) ->
+        {
+            assertEquals(vertex, rowNumber[0]++);
+            for (int vertex2 = 0; vertex2 < 40; vertex2++)
+            {
+                assertEquals(costs[vertex2], matrix.getCost(vertex, vertex2));
+            }
+        }));
+        assertEquals(rowNumber[0], 40);
+    }
+
+    @Test
+    public void negativeCycle()
+    {
+        graph.addVertex(40);
+        graph.addVertex(41);
+        graph.addEdge(40, 41, -1);
+        graph.addEdge(41, 40, 0);
+        assertNull(Johnson.allPairsLowestCosts(graph));
+        assertFalse(Johnson.allPairsLowestCosts(graph, ForkJoinPool.commonPool(), (vertex, costs) -> fail()));
+    }
+}
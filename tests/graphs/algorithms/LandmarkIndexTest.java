@@ -0,0 +1,180 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import graphs.exceptions.NegativeCostException;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LandmarkIndexTest
+{
+    private DirectedGraph graph;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 8);
+        graph.addEdge(0,1,7);
+        graph.addEdge(0,2,2);
+        graph.addEdge(2,1,3);
+        graph.addEdge(1,3,1);
+        graph.addEdge(2,3,9);
+        graph.addEdge(3,4,0);
+        graph.addEdge(4,3,4);
+        graph.addEdge(5,0,1);
+        file = File.createTempFile("graph", ".txt");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+        new File(file.getPath() + LandmarkIndex.FILE_EXTENSION).delete();
+        file.delete();
+    }
+
+    @Test
+    public void queries()
+    {
+        LandmarkIndex index = LandmarkIndex.build(graph, 2);
+        assertEquals(index.getLandmarks().size(), 2);
+        Traversal.DTOCostWalk walk = index.lowestCostWalk(0, 4);
+        assertEquals(walk.getCost(), 6);
+        assertEquals(walk.getWalk(), Arrays.asList(0, 2, 1, 3, 4));
+        assertEquals(index.lowestCostWalk(5, 5).getWalk(), Arrays.asList(5));
+        assertTrue(index.lowestCostWalk(4, 0).getWalk().isEmpty());
+    }
+
+    @Test
+    public void randomGraphs()
+    {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++)
+        {
+            int vertexNumber = 30 + random.nextInt(30);
+            DirectedGraph randomGraph = new DirectedGraph(vertexNumber, 0);
+            for (int i = 0; i < 3 * vertexNumber; i++)
+            {
+                int vertex1 = random.nextInt(vertexNumber);
+                int vertex2 = random.nextInt(vertexNumber);
+                if (!randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, random.nextInt(20));
+                }
+            }
+            LandmarkIndex index = LandmarkIndex.build(randomGraph, 1 + random.nextInt(4));
+            for (int query = 0; query < 20; query++)
+            {
+                int start = random.nextInt(vertexNumber);
+                int target = random.nextInt(vertexNumber);
+                Traversal.DTOCostWalk expected = Traversal.lowestCostWalk(randomGraph, start, target);
+                Traversal.DTOCostWalk actual = index.lowestCostWalk(start, target);
+                assertEquals(actual.getWalk().isEmpty(), expected.getWalk().isEmpty());
+                if (!expected.getWalk().isEmpty())
+                {
+                    assertEquals(actual.getCost(), expected.getCost());
+                    assertEquals(actual.getWalk().get(0).intValue(), start);
+                    assertEquals(actual.getWalk().get(actual.getWalk().size() - 1).intValue(), target);
+                    long cost = 0;
+                    for (int i = 1; i < actual.getWalk().size(); i++)
+                    {
+                        cost += randomGraph.getCost(actual.getWalk().get(i - 1), actual.getWalk().get(i));
+                    }
+                    assertEquals(cost, expected.getCost());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void settledVertices()
+    {
+        // a grid with edges in both directions, where the landmarks end up near the borders
+        Random random = new Random(15);
+        int side = 120;
+        DirectedGraph grid = new DirectedGraph(side * side, 4 * side * side);
+        for (int row = 0; row < side; row++)
+        {
+            for (int column = 0; column < side; column++)
+            {
+                int vertex = row * side + column;
+                if (column + 1 < side)
+                {
+                    grid.addEdge(vertex, vertex + 1, 1 + random.nextInt(10));
+                    grid.addEdge(vertex + 1, vertex, 1 + random.nextInt(10));
+                }
+                if (row + 1 < side)
+                {
+                    grid.addEdge(vertex, vertex + side, 1 + random.nextInt(10));
+                    grid.addEdge(vertex + side, vertex, 1 + random.nextInt(10));
+                }
+            }
+        }
+        LandmarkIndex index = LandmarkIndex.build(grid, 16);
+
+        // plain Dijkstra settles every vertex cheaper than the target before it
+        long dijkstraSettled = 0;
+        for (int query = 0; query < 20; query++)
+        {
+            int start = random.nextInt(side) * side + random.nextInt(side / 4);
+            int target = random.nextInt(side) * side + side - 1 - random.nextInt(side / 4);
+            ShortestPathTree tree = ShortestPathTree.of(grid, start);
+            for (int vertex = 0; vertex < side * side; vertex++)
+            {
+                if (tree.getCost(vertex) <= tree.getCost(target))
+                {
+                    dijkstraSettled++;
+                }
+            }
+            assertEquals(index.lowestCostWalk(start, target).getCost(), tree.getCost(target));
+        }
+        assertTrue(index.getSettledVertices() * 10 < dijkstraSettled);
+    }
+
+    @Test
+    public void persistence() throws IOException
+    {
+        LandmarkIndex built = LandmarkIndex.loadOrBuild(graph, file.getPath(), 3);
+        File landmarkFile = new File(file.getPath() + LandmarkIndex.FILE_EXTENSION);
+        assertTrue(landmarkFile.exists());
+        LandmarkIndex loaded = LandmarkIndex.load(graph, landmarkFile.getPath());
+        assertEquals(loaded.getLandmarks(), built.getLandmarks());
+        assertEquals(loaded.lowestCostWalk(0, 4).getWalk(), Arrays.asList(0, 2, 1, 3, 4));
+
+        graph.changeCost(2, 1, 8);
+        try
+        {
+            LandmarkIndex.load(graph, landmarkFile.getPath());
+            fail();
+        }
+        catch (IOException ignored)
+        {
+
+        }
+        LandmarkIndex rebuilt = LandmarkIndex.loadOrBuild(graph, file.getPath(), 3);
+        assertEquals(rebuilt.lowestCostWalk(0, 4).getCost(), 8);
+        assertEquals(LandmarkIndex.load(graph, landmarkFile.getPath()).lowestCostWalk(0, 4).getCost(), 8);
+    }
+
+    @Test(expected = NegativeCostException.class)
+    public void negativeCosts()
+    {
+        graph.addEdge(4,5,-3);
+        LandmarkIndex.build(graph, 2);
+    }
+
+    @Test(expected = VertexDoesNotExistException.class)
+    public void missingVertex()
+    {
+        LandmarkIndex.build(graph, 2).lowestCostWalk(0, 10);
+    }
+}
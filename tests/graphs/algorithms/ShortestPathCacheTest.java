@@ -0,0 +1,72 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ShortestPathCacheTest
+{
+    private DirectedGraph graph;
+    private ShortestPathCache cache;
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(4, 4);
+        graph.addEdge(0,1,1);
+        graph.addEdge(1,2,1);
+        graph.addEdge(2,3,1);
+        graph.addEdge(0,3,5);
+        cache = new ShortestPathCache(graph, 2);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+        cache = null;
+    }
+
+    @Test
+    public void repeatedQueries()
+    {
+        assertEquals(cache.lowestCostWalk(0, 3).getCost(), 3);
+        assertEquals(cache.lowestCostWalk(0, 2).getCost(), 2);
+        assertSame(cache.get(0), cache.get(0));
+        assertEquals(cache.getMisses(), 1);
+        assertEquals(cache.getHits(), 3);
+    }
+
+    @Test
+    public void leastRecentlyUsed()
+    {
+        ShortestPathTree tree0 = cache.get(0);
+        cache.get(1);
+        cache.get(0);
+        cache.get(2);
+        assertEquals(cache.size(), 2);
+        assertSame(cache.get(0), tree0);
+        assertEquals(cache.getMisses(), 3);
+        cache.get(1);
+        assertEquals(cache.getMisses(), 4);
+    }
+
+    @Test
+    public void invalidation()
+    {
+        long version = graph.getVersion();
+        ShortestPathTree tree = cache.get(0);
+        graph.changeCost(1, 2, 10);
+        assertNotEquals(graph.getVersion(), version);
+        assertNotSame(cache.get(0), tree);
+        assertEquals(cache.lowestCostWalk(0, 3).getCost(), 5);
+        assertEquals(cache.size(), 1);
+
+        graph.addEdge(3, 0, -10);
+        assertNull(cache.lowestCostWalk(0, 3));
+        graph.removeEdge(3, 0);
+        assertEquals(cache.lowestCostWalk(0, 3).getCost(), 5);
+    }
+}
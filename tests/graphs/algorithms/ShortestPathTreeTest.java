@@ -0,0 +1,71 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ShortestPathTreeTest
+{
+    private DirectedGraph graph;
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 8);
+        graph.addEdge(0,1,7);
+        graph.addEdge(0,2,2);
+        graph.addEdge(2,1,3);
+        graph.addEdge(1,3,1);
+        graph.addEdge(2,3,9);
+        graph.addEdge(3,4,0);
+        graph.addEdge(4,3,4);
+        graph.addEdge(5,0,1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void queries()
+    {
+        ShortestPathTree tree = ShortestPathTree.of(graph, 0);
+        assertEquals(tree.getStartVertex(), 0);
+        assertEquals(tree.getCost(4), 6);
+        assertEquals(tree.getWalk(4), Arrays.asList(0, 2, 1, 3, 4));
+        assertEquals(tree.getCost(1), 5);
+        assertEquals(tree.getWalk(0), Arrays.asList(0));
+        assertFalse(tree.existsWalk(5));
+        assertTrue(tree.getWalk(5).isEmpty());
+        for (int target = 0; target < 6; target++)
+        {
+            Traversal.DTOCostWalk walk = Traversal.lowestCostWalk(graph, 0, target);
+            assertEquals(tree.lowestCostWalk(target).getWalk(), walk.getWalk());
+        }
+    }
+
+    @Test
+    public void negativeCosts()
+    {
+        graph.addEdge(4,5,-3);
+        ShortestPathTree tree = ShortestPathTree.of(graph, 0);
+        assertEquals(tree.getCost(5), 3);
+        assertEquals(tree.getWalk(5), Arrays.asList(0, 2, 1, 3, 4, 5));
+
+        graph.addEdge(4,2,-6);
+        assertNull(ShortestPathTree.of(graph, 0));
+    }
+
+    @Test(expected = VertexDoesNotExistException.class)
+    public void missingTarget()
+    {
+        ShortestPathTree.of(graph, 0).getCost(10);
+    }
+}
@@ -0,0 +1,124 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import graphs.exceptions.VertexDoesNotExistException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class StronglyConnectedComponentsTest
+{
+    private DirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(7, 9);
+        graph.addEdge(0, 1, 4);
+        graph.addEdge(1, 2, 1);
+        graph.addEdge(2, 0, 1);
+        graph.addEdge(2, 3, 7);
+        graph.addEdge(1, 3, 5);
+        graph.addEdge(3, 4, 1);
+        graph.addEdge(4, 3, 1);
+        graph.addEdge(4, 5, 2);
+        graph.addEdge(6, 6, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void labels()
+    {
+        StronglyConnectedComponents components = Traversal.getStronglyConnectedComponents(graph);
+        assertEquals(4, components.getNumberOfComponents());
+        assertEquals(Arrays.asList(0, 1, 2), components.getVertices(0));
+        assertEquals(Arrays.asList(3, 4), components.getVertices(1));
+        assertEquals(2, components.getComponent(5));
+        assertEquals(3, components.getComponent(6));
+        assertTrue(components.areStronglyConnected(2, 1));
+        assertFalse(components.areStronglyConnected(2, 3));
+        assertEquals(1, components.getSize(2));
+        try
+        {
+            components.getComponent(7);
+            fail();
+        }
+        catch (VertexDoesNotExistException ignored)
+        {
+        }
+    }
+
+    @Test
+    public void condensation()
+    {
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+        DirectedGraph condensation = components.getCondensation();
+        assertEquals(4, condensation.getNumberOfVertices());
+        assertEquals(2, condensation.getNumberOfEdges());
+        assertEquals(5, condensation.getCost(0, 1));
+        assertEquals(2, condensation.getCost(1, 2));
+        assertSame(condensation, components.getCondensation());
+
+        List<Integer> order = components.getTopologicalOrder();
+        assertEquals(4, order.size());
+        assertTrue(order.indexOf(0) < order.indexOf(1));
+        assertTrue(order.indexOf(1) < order.indexOf(2));
+    }
+
+    @Test
+    public void longCycle()
+    {
+        int vertexNumber = 200000;
+        DirectedGraph cycle = new DirectedGraph(vertexNumber, vertexNumber);
+        for (int vertex = 0; vertex < vertexNumber; vertex++)
+        {
+            cycle.addEdge(vertex, (vertex + 1) % vertexNumber, 1);
+        }
+        assertEquals(1, StronglyConnectedComponents.of(cycle).getNumberOfComponents());
+        cycle.removeEdge(vertexNumber - 1, 0);
+        StronglyConnectedComponents path = StronglyConnectedComponents.of(cycle);
+        assertEquals(vertexNumber, path.getNumberOfComponents());
+        assertEquals(vertexNumber - 1, path.getCondensation().getNumberOfEdges());
+    }
+
+    @Test
+    public void parallel()
+    {
+        Random random = new Random(22);
+        ForkJoinPool pool = new ForkJoinPool(3);
+        for (int round = 0; round < 3; round++)
+        {
+            int vertexNumber = 5000;
+            DirectedGraph randomGraph = new DirectedGraph(vertexNumber, 2 * vertexNumber);
+            for (int i = 0; i < vertexNumber + round * vertexNumber / 2; i++)
+            {
+                int vertex1 = random.nextInt(vertexNumber);
+                int vertex2 = random.nextInt(vertexNumber);
+                if (!randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, 1);
+                }
+            }
+            StronglyConnectedComponents expected = StronglyConnectedComponents.of(randomGraph);
+            StronglyConnectedComponents actual = StronglyConnectedComponents.ofParallel(randomGraph, pool);
+            assertEquals(expected.getNumberOfComponents(), actual.getNumberOfComponents());
+            for (int vertex = 0; vertex < vertexNumber; vertex++)
+            {
+                assertEquals(expected.getComponent(vertex), actual.getComponent(vertex));
+            }
+        }
+        pool.shutdown();
+    }
+}
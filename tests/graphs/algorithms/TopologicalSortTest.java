@@ -0,0 +1,84 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TopologicalSortTest
+{
+    private DirectedGraph graph;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 7);
+        graph.addEdge(5, 2, 1);
+        graph.addEdge(5, 0, 1);
+        graph.addEdge(4, 0, 1);
+        graph.addEdge(4, 1, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(3, 1, 1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void order()
+    {
+        TopologicalSort sort = TopologicalSort.of(graph);
+        assertTrue(sort.isAcyclic());
+        assertNull(sort.getCycle());
+        List<Integer> order = sort.getOrder();
+        assertEquals(6, order.size());
+        assertEquals(Arrays.asList(4, 5), order.subList(0, 2));
+        graph.forEachEdge((vertex1, vertex2, cost) -> assertTrue(order.indexOf(vertex1) < order.indexOf(vertex2)));
+    }
+
+    @Test
+    public void cycle()
+    {
+        graph.addEdge(1, 5, 1);
+        TopologicalSort sort = TopologicalSort.of(graph);
+        assertFalse(sort.isAcyclic());
+        assertNull(sort.getOrder());
+        List<Integer> cycle = sort.getCycle();
+        assertEquals(4, cycle.size());
+        assertTrue(cycle.containsAll(Arrays.asList(5, 2, 3, 1)));
+        for (int i = 0; i < cycle.size(); i++)
+        {
+            assertTrue(graph.existsEdge(cycle.get(i), cycle.get((i + 1) % cycle.size())));
+        }
+
+        graph.addEdge(0, 0, 1);
+        graph.removeEdge(1, 5);
+        assertEquals(Arrays.asList(0), TopologicalSort.of(graph).getCycle());
+    }
+
+    @Test
+    public void longChain()
+    {
+        int vertexNumber = 200000;
+        DirectedGraph chain = new DirectedGraph(vertexNumber, vertexNumber);
+        for (int vertex = vertexNumber - 1; vertex > 0; vertex--)
+        {
+            chain.addEdge(vertex, vertex - 1, 1);
+        }
+        List<Integer> order = TopologicalSort.of(chain).getOrder();
+        assertEquals(vertexNumber, order.size());
+        assertEquals(vertexNumber - 1, (int) order.get(0));
+        assertEquals(0, (int) order.get(vertexNumber - 1));
+
+        chain.addEdge(0, vertexNumber - 1, 1);
+        assertEquals(vertexNumber, TopologicalSort.of(chain).getCycle().size());
+    }
+}
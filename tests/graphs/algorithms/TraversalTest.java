@@ -0,0 +1,178 @@
+package graphs.algorithms;
+
+import graphs.DirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class TraversalTest
+{
+    private DirectedGraph graph;
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(6, 8);
+        graph.addEdge(0,1,7);
+        graph.addEdge(0,2,2);
+        graph.addEdge(2,1,3);
+        graph.addEdge(1,3,1);
+        graph.addEdge(2,3,9);
+        graph.addEdge(3,4,0);
+        graph.addEdge(4,3,4);
+        graph.addEdge(5,0,1);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        graph = null;
+    }
+
+    @Test
+    public void lowestCostWalk()
+    {
+        Traversal.DTOCostWalk result = Traversal.lowestCostWalk(graph, 0, 4);
+        assertEquals(result.getCost(), 6);
+        assertEquals(result.getWalk(), Arrays.asList(0, 2, 1, 3, 4));
+
+        result = Traversal.lowestCostWalk(graph, 0, 0);
+        assertEquals(result.getCost(), 0);
+        assertEquals(result.getWalk(), Arrays.asList(0));
+
+        assertTrue(Traversal.lowestCostWalk(graph, 4, 0).getWalk().isEmpty());
+    }
+
+    @Test
+    public void lowestCostWalkNegativeCosts()
+    {
+        graph.addEdge(4,2,-6);
+        Traversal.DTOCostWalk result = Traversal.lowestCostWalk(graph, 0, 1);
+        assertNull(result);
+
+        graph.removeEdge(4,2);
+        graph.addEdge(4,5,-3);
+        result = Traversal.lowestCostWalk(graph, 0, 5);
+        assertEquals(result.getCost(), 3);
+        assertEquals(result.getWalk(), Arrays.asList(0, 2, 1, 3, 4, 5));
+    }
+
+    @Test
+    public void lowestCostWalkUnreachableNegativeCycle()
+    {
+        graph.addVertex(6);
+        graph.addVertex(7);
+        graph.addEdge(6,7,-2);
+        graph.addEdge(7,6,1);
+        graph.addEdge(7,0,1);
+        Traversal.DTOCostWalk result = Traversal.lowestCostWalk(graph, 0, 3);
+        assertEquals(result.getCost(), 6);
+        assertNull(Traversal.lowestCostWalk(graph, 6, 3));
+    }
+
+    @Test
+    public void dijkstraMatchesBellmanFord()
+    {
+        Random random = new Random(10);
+        for (int test = 0; test < 20; test++)
+        {
+            DirectedGraph randomGraph = new DirectedGraph(30, 0);
+            for (int i = 0; i < 80; i++)
+            {
+                int vertex1 = random.nextInt(30);
+                int vertex2 = random.nextInt(30);
+                if (!randomGraph.existsEdge(vertex1, vertex2))
+                {
+                    randomGraph.addEdge(vertex1, vertex2, random.nextInt(100));
+                }
+            }
+            int start = random.nextInt(30);
+            int target = random.nextInt(30);
+            Traversal.DTOCostWalk dijkstra = Traversal.lowestCostWalk(randomGraph, start, target);
+
+            // a negative edge which can never be used forces Bellman-Ford
+            randomGraph.addVertex(30);
+            randomGraph.addEdge(30, start, -1);
+            Traversal.DTOCostWalk bellmanFord = Traversal.lowestCostWalk(randomGraph, start, target);
+
+            assertEquals(dijkstra.getWalk().isEmpty(), bellmanFord.getWalk().isEmpty());
+            if (!dijkstra.getWalk().isEmpty())
+            {
+                assertEquals(dijkstra.getCost(), bellmanFord.getCost());
+            }
+        }
+    }
+
+    @Test
+    public void parallelLowestCostWalkNegativeCosts()
+    {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try
+        {
+            graph.addEdge(4,5,-3);
+            Traversal.DTOCostWalk result = Traversal.lowestCostWalk(graph, 0, 5, pool);
+            assertEquals(result.getCost(), 3);
+            assertEquals(result.getWalk(), Arrays.asList(0, 2, 1, 3, 4, 5));
+
+            graph.addEdge(4,2,-6);
+            assertNull(Traversal.lowestCostWalk(graph, 0, 1, pool));
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void parallelBellmanFordMatchesQueueBased()
+    {
+        Random random = new Random(18);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+        {
+            for (int test = 0; test < 20; test++)
+            {
+                DirectedGraph randomGraph = new DirectedGraph(100, 0);
+                for (int i = 0; i < 300; i++)
+                {
+                    int vertex1 = random.nextInt(100);
+                    int vertex2 = random.nextInt(100);
+                    if (!randomGraph.existsEdge(vertex1, vertex2))
+                    {
+                        // costs up to 10 below zero make some graphs have negative cycles
+                        randomGraph.addEdge(vertex1, vertex2, random.nextInt(110) - 10);
+                    }
+                }
+                int start = random.nextInt(100);
+                int target = random.nextInt(100);
+                Traversal.DTOCostWalk queueBased = Traversal.lowestCostWalk(randomGraph, start, target);
+                Traversal.DTOCostWalk parallel = Traversal.lowestCostWalk(randomGraph, start, target, pool);
+                if (queueBased == null)
+                {
+                    assertNull(parallel);
+                    continue;
+                }
+                assertEquals(queueBased.getCost(), parallel.getCost());
+                assertEquals(queueBased.getWalk().isEmpty(), parallel.getWalk().isEmpty());
+                long cost = 0;
+                for (int i = 1; i < parallel.getWalk().size(); i++)
+                {
+                    cost += randomGraph.getCost(parallel.getWalk().get(i - 1), parallel.getWalk().get(i));
+                }
+                if (!parallel.getWalk().isEmpty())
+                {
+                    assertEquals(cost, parallel.getCost());
+                }
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
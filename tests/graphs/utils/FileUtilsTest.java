@@ -0,0 +1,165 @@
+package graphs.utils;
+
+import graphs.CompressedDirectedGraph;
+import graphs.DirectedGraph;
+import graphs.MappedDirectedGraph;
+import graphs.UndirectedGraph;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class FileUtilsTest
+{
+    private DirectedGraph graph;
+    private File file;
+    @Before
+    public void setUp() throws Exception
+    {
+        graph = new DirectedGraph(5, 6);
+        graph.addEdge(0,0,1);
+        graph.addEdge(0,1,7);
+        graph.addEdge(1,2,2);
+        graph.addEdge(2,1,-1);
+        graph.addEdge(1,3,8);
+        graph.addEdge(2,3,5);
+        file = File.createTempFile("graph", ".txt");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        file.delete();
+        graph = null;
+    }
+
+    @Test
+    public void binaryFile() throws IOException
+    {
+        FileUtils.writeDirectedGraphToBinaryFile(graph, file.getPath());
+        MappedDirectedGraph mappedGraph = FileUtils.loadDirectedGraphFromBinaryFile(file.getPath());
+        assertEquals(mappedGraph.getNumberOfVertices(), 5);
+        assertEquals(mappedGraph.getNumberOfEdges(), 6);
+        assertEquals(mappedGraph.getCost(2, 1), -1);
+        assertEquals(mappedGraph.getCost(0, 0), 1);
+        assertFalse(mappedGraph.existsEdge(3, 2));
+        assertEquals(mappedGraph.inDegree(3), 2);
+        Iterator<Integer> iterator = mappedGraph.parseOutboundEdges(1).iterator();
+        assertEquals((int)iterator.next(), 2);
+        assertEquals((int)iterator.next(), 3);
+        assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = IOException.class)
+    public void binaryFileFromTextFile() throws IOException
+    {
+        FileUtils.writeDirectedGraphToFile(graph, file.getPath());
+        FileUtils.loadDirectedGraphFromBinaryFile(file.getPath());
+    }
+
+    @Test
+    public void textFile() throws IOException
+    {
+        FileUtils.writeDirectedGraphToFile(graph, file.getPath());
+        DirectedGraph readGraph = FileUtils.createDirectedGraphFromFile(file.getPath());
+        assertEquals(readGraph.getNumberOfVertices(), 5);
+        assertEquals(readGraph.getNumberOfEdges(), 6);
+        assertEquals(readGraph.getCost(2, 1), -1);
+        assertEquals(readGraph.getCost(1, 3), 8);
+    }
+
+    @Test
+    public void parseIntegers() throws IOException
+    {
+        try (FileWriter writer = new FileWriter(file))
+        {
+            writer.write("3 2\r\n0 1 -2147483648\r\n\t1  2 +2147483647");
+        }
+        DirectedGraph readGraph = FileUtils.createDirectedGraphFromFile(file.getPath());
+        assertEquals(readGraph.getCost(0, 1), Integer.MIN_VALUE);
+        assertEquals(readGraph.getCost(1, 2), Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void parallelRead() throws IOException
+    {
+        DirectedGraph bigGraph = new DirectedGraph(100, 0);
+        for (int i = 0; i < 100; i++)
+        {
+            for (int j = 0; j < 100; j += 7)
+            {
+                bigGraph.addEdge(i, (i + j) % 100, i * j - 300);
+            }
+        }
+        FileUtils.writeDirectedGraphToFile(bigGraph, file.getPath());
+        ParallelEdgeListReader.EdgeList edgeList =
+                ParallelEdgeListReader.read(file.getPath(), new ForkJoinPool(4), 64);
+        assertEquals(edgeList.vertexNumber, 100);
+        assertEquals(edgeList.vertices1.length, bigGraph.getNumberOfEdges());
+        for (int i = 0; i < edgeList.vertices1.length; i++)
+        {
+            assertEquals(bigGraph.getCost(edgeList.vertices1[i], edgeList.vertices2[i]), edgeList.costs[i]);
+        }
+
+        CompressedDirectedGraph compressedGraph = FileUtils.createCompressedDirectedGraphFromFileParallel(file.getPath());
+        assertEquals(compressedGraph.getNumberOfEdges(), bigGraph.getNumberOfEdges());
+        assertEquals(compressedGraph.getCost(99, 6), 99 * 7 - 300);
+        assertEquals(compressedGraph.outDegree(50), bigGraph.outDegree(50));
+    }
+
+    @Test
+    public void undirectedTextFile() throws IOException
+    {
+        UndirectedGraph undirectedGraph = new UndirectedGraph(4, 2);
+        undirectedGraph.addEdge(0, 1, Integer.MIN_VALUE);
+        undirectedGraph.addEdge(2, 1, 3);
+        FileUtils.writeUndirectedGraphToFile(undirectedGraph, file.getPath());
+        UndirectedGraph readGraph = FileUtils.createUndirectedGraphFromFile(file.getPath());
+        assertEquals(readGraph.getNumberOfEdges(), 2);
+        assertEquals(readGraph.getCost(1, 0), Integer.MIN_VALUE);
+        assertEquals(readGraph.getCost(1, 2), 3);
+        assertTrue(readGraph.existsVertex(3));
+    }
+
+    @Test
+    public void gzipTextFile() throws IOException
+    {
+        File gzipFile = File.createTempFile("graph", ".txt.gz");
+        try
+        {
+            FileUtils.writeDirectedGraphToFile(graph, gzipFile.getPath());
+            DirectedGraph readGraph = FileUtils.createDirectedGraphFromFile(gzipFile.getPath());
+            assertEquals(readGraph.getNumberOfEdges(), 6);
+            assertEquals(readGraph.getCost(2, 1), -1);
+            CompressedDirectedGraph compressedGraph =
+                    FileUtils.createCompressedDirectedGraphFromFileParallel(gzipFile.getPath());
+            assertEquals(compressedGraph.getCost(1, 3), 8);
+        }
+        finally
+        {
+            gzipFile.delete();
+        }
+    }
+
+    @Test
+    public void allPairsLowestCostsFile() throws IOException
+    {
+        assertTrue(FileUtils.writeAllPairsLowestCostsToBinaryFile(graph, file.getPath()));
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(buffer.limit(), 3 * Integer.BYTES + 5 * Integer.BYTES + 25 * Long.BYTES);
+        assertEquals(buffer.getInt(2 * Integer.BYTES), 5);
+        // the cost from 0 to 3 is in the row of vertex 0, column 3
+        assertEquals(buffer.getLong(8 * Integer.BYTES + 3 * Long.BYTES), 14);
+        assertEquals(buffer.getLong(8 * Integer.BYTES + 4 * Long.BYTES), Long.MAX_VALUE);
+    }
+}